@@ -0,0 +1,40 @@
+package study.kimdatajpa.loadtest;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.kimdatajpa.entity.IdBlockTable;
+
+// 대량 데이터 입력: H2 SYSTEM_RANGE 로 DB 안에서 행을 만든다 (애플리케이션으로 가져오지 않음)
+public class DataSeeder {
+
+    private static final int CHUNK = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataSeeder(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void seed(int teams, int members) {
+        jdbcTemplate.update("insert into team (team_id, name) "
+            + "select x, 'team' || x from system_range(1, ?)", teams);
+
+        for (long from = 1; from <= members; from += CHUNK) {
+            long to = Math.min(from + CHUNK - 1, members);
+            jdbcTemplate.update("insert into member (member_id, username, age, team_id, "
+                    + "created_date, last_modified_date, created_by, last_modified_by) "
+                    + "select x, 'user' || x, mod(x, 100), mod(x, ?) + 1, "
+                    + "localtimestamp, localtimestamp, 'loadtest', 'loadtest' "
+                    + "from system_range(?, ?)",
+                teams, from, to);
+        }
+
+        // 직접 넣은 id 와 겹치지 않도록 id 블록 예약 시작점을 뒤로 민다
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            IdBlockTable.advanceTo(connection, "team", teams + 1L);
+            IdBlockTable.advanceTo(connection, "member", members + 1L);
+            return null;
+        });
+    }
+}
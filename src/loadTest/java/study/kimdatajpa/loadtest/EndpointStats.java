@@ -0,0 +1,51 @@
+package study.kimdatajpa.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// 엔드포인트 하나의 결과: 지연 시간 히스토그램(마이크로초), 에러 수
+public class EndpointStats {
+
+    private final Histogram latencyMicros =
+        new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public void record(long latencyNanos, boolean success) {
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos),
+            latencyMicros.getHighestTrackableValue()));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void drop() {
+        dropped.increment();
+    }
+
+    public Map<String, Object> report(double seconds) {
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        latencyMs.put("p50", percentileMs(50));
+        latencyMs.put("p95", percentileMs(95));
+        latencyMs.put("p99", percentileMs(99));
+        latencyMs.put("p99.9", percentileMs(99.9));
+        latencyMs.put("max", latencyMicros.getMaxValue() / 1000.0);
+        latencyMs.put("mean", latencyMicros.getMean() / 1000.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", latencyMicros.getTotalCount());
+        report.put("errors", errors.sum());
+        report.put("dropped", dropped.sum());
+        report.put("throughputPerSecond", latencyMicros.getTotalCount() / seconds);
+        report.put("latencyMs", latencyMs);
+        return report;
+    }
+
+    private double percentileMs(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,94 @@
+package study.kimdatajpa.loadtest;
+
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.KimDataJpaApplication;
+import study.kimdatajpa.entity.Member;
+
+// 큰 영속성 컨텍스트의 flush 비용과 힙 사용량 (바이트코드 향상 전/후 비교)
+// 회원 전체를 한 세션에 올린 뒤 변경 없는 flush 와 일부만 바꾼 flush 시간, 엔티티당 힙 증가량을 출력한다.
+// ./gradlew clean flushBenchmark -Dbench.members=200000
+// ./gradlew clean flushBenchmark -Dbench.members=200000 -PhibernateEnhance=false
+public class FlushBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int members = Integer.getInteger("bench.members", 100_000);
+        double changedRatio = Double.parseDouble(System.getProperty("bench.changedRatio", "0.01"));
+        String dbPath = System.getProperty("loadtest.dbPath", "build/loadtest/db");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KimDataJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:file:" + dbPath + "/flush",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "logging.level.org.hibernate.SQL=info")
+            .run(args);
+        try {
+            new DataSeeder(context.getBean(DataSource.class)).seed(members / 100 + 1, members);
+            EntityManager em = context.getBean(EntityManager.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            System.out.printf("enhanced: dirty tracking=%s, managed entity=%s%n",
+                SelfDirtinessTracker.class.isAssignableFrom(Member.class),
+                ManagedEntity.class.isAssignableFrom(Member.class));
+            for (int round = 1; round <= ROUNDS; round++) { // 앞의 라운드는 워밍업
+                int currentRound = round;
+                tx.executeWithoutResult(status -> {
+                    run(em, currentRound, changedRatio);
+                    status.setRollbackOnly(); // 다음 라운드도 같은 데이터
+                });
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(EntityManager em, int round, double changedRatio) {
+        long heapBefore = usedHeap();
+        long loadStart = System.nanoTime();
+        List<Member> members = em.createQuery("select m from Member m", Member.class).getResultList();
+        long loadNanos = System.nanoTime() - loadStart;
+        long heapAfter = usedHeap();
+
+        // 변경 없는 flush: 스냅샷 비교(향상 전) vs 변경 여부 플래그 확인(향상 후)
+        long cleanStart = System.nanoTime();
+        em.flush();
+        long cleanNanos = System.nanoTime() - cleanStart;
+
+        int step = Math.max(1, (int) Math.round(1 / changedRatio));
+        for (int i = 0; i < members.size(); i += step) {
+            members.get(i).setAge(members.get(i).getAge() + 1);
+        }
+        long dirtyStart = System.nanoTime();
+        em.flush();
+        long dirtyNanos = System.nanoTime() - dirtyStart;
+
+        System.out.printf("round %d: %,d members, load %dms, heap +%,d KB (%d B/entity), "
+                + "clean flush %.1fms, flush with %,d changed %.1fms%n",
+            round, members.size(), loadNanos / 1_000_000, (heapAfter - heapBefore) / 1024,
+            (heapAfter - heapBefore) / Math.max(1, members.size()), cleanNanos / 1e6,
+            (members.size() + step - 1) / step, dirtyNanos / 1e6);
+        em.clear();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
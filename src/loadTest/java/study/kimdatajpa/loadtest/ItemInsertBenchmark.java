@@ -0,0 +1,75 @@
+package study.kimdatajpa.loadtest;
+
+import jakarta.persistence.EntityManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.KimDataJpaApplication;
+import study.kimdatajpa.entity.Item;
+import study.kimdatajpa.entity.ItemIdGenerator;
+
+// Item insert 처리량 비교: 랜덤 UUID vs 시간 순 id (ItemIdGenerator)
+// 같은 H2 파일 DB 에서 전략마다 테이블을 비우고 같은 수를 넣은 뒤 초당 건수와 테이블 크기를 출력한다.
+// ./gradlew itemInsertBenchmark -Dbench.items=1000000
+public class ItemInsertBenchmark {
+
+    private static final int BATCH = 1000;
+
+    public static void main(String[] args) {
+        int items = Integer.getInteger("bench.items", 500_000);
+        String dbPath = System.getProperty("loadtest.dbPath", "build/loadtest/db");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KimDataJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:file:" + dbPath + "/items",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "logging.level.org.hibernate.SQL=info")
+            .run(args);
+        try {
+            EntityManager em = context.getBean(EntityManager.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+
+            Map<String, Supplier<Item>> strategies = new LinkedHashMap<>();
+            strategies.put("uuid", () -> new Item(UUID.randomUUID().toString()));
+            strategies.put("time-ordered", Item::create);
+
+            insert(em, tx, Math.min(items, 50_000), strategies.get("time-ordered")); // 워밍업
+            strategies.forEach((name, factory) -> {
+                jdbc.execute("truncate table item");
+                long start = System.nanoTime();
+                insert(em, tx, items, factory);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                Long bytes = jdbc.queryForObject("select disk_space_used('ITEM')", Long.class);
+                System.out.printf("%-13s %,d items in %.1fs -> %,.0f items/s, table+index %,d KB%n",
+                    name, items, seconds, items / seconds, bytes / 1024);
+            });
+            System.out.println("sample time-ordered id: " + ItemIdGenerator.next());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void insert(EntityManager em, TransactionTemplate tx, int items, Supplier<Item> factory) {
+        for (int from = 0; from < items; from += BATCH) {
+            int count = Math.min(BATCH, items - from);
+            tx.executeWithoutResult(status -> {
+                for (int i = 0; i < count; i++) {
+                    em.persist(factory.get()); // id 가 정해져 있어 select 없이 insert (JDBC 배치)
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+}
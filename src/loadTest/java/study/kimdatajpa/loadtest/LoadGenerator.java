@@ -0,0 +1,125 @@
+package study.kimdatajpa.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+// HTTP 부하 생성기
+// - closed 모델: 가상 사용자 N 명이 응답을 받으면 바로 다음 요청 (동시성 고정)
+// - open 모델: 초당 요청 수 고정, 지연 시간은 "보냈어야 할 시각" 부터 잰다 (coordinated omission 보정)
+public class LoadGenerator {
+
+    record Endpoint(String name, IntFunction<String> path) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final String baseUrl;
+    private final List<Endpoint> endpoints;
+
+    public LoadGenerator(int port, int members) {
+        this.baseUrl = "http://localhost:" + port;
+        int pages = Math.max(1, Math.min(members / 20, 1000));
+        this.endpoints = List.of(
+            new Endpoint("GET /members", random -> "/members?size=20&expand=team&page=" + random % pages),
+            new Endpoint("GET /members/{id}", random -> "/members/" + (random % members + 1)),
+            new Endpoint("GET /members2/{id}", random -> "/members2/" + (random % members + 1)));
+    }
+
+    public Map<String, EndpointStats> newStats() {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats()));
+        return stats;
+    }
+
+    public void runClosed(int concurrency, Duration duration, Map<String, EndpointStats> stats)
+        throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            users.submit(() -> {
+                while (System.nanoTime() < end) {
+                    Endpoint endpoint = pick();
+                    HttpRequest request = request(endpoint);
+                    long start = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = isSuccess(client.send(request, HttpResponse.BodyHandlers.discarding()));
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    stats.get(endpoint.name()).record(System.nanoTime() - start, success);
+                }
+            });
+        }
+        users.shutdown();
+        users.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    public void runOpen(int rate, int maxInFlight, Duration duration, Map<String, EndpointStats> stats)
+        throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        for (long n = 0; ; n++) {
+            long intended = start + n * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = pick();
+            EndpointStats endpointStats = stats.get(endpoint.name());
+            if (inFlight.get() >= maxInFlight) {
+                endpointStats.drop(); // 서버가 못 따라오면 요청을 쌓지 않고 버린 것으로 기록
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request(endpoint), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    inFlight.decrementAndGet();
+                    endpointStats.record(System.nanoTime() - intended, e == null && isSuccess(response));
+                });
+        }
+
+        // 남은 요청이 끝날 때까지 대기
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Endpoint pick() {
+        return endpoints.get(ThreadLocalRandom.current().nextInt(endpoints.size()));
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        int random = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+        return HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(random)))
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
@@ -0,0 +1,35 @@
+package study.kimdatajpa.loadtest;
+
+import java.time.Duration;
+
+// 부하 테스트 설정 (-Dloadtest.xxx)
+public record LoadTestConfig(
+    String model,        // closed: 동시 사용자 수 고정, open: 초당 요청 수 고정
+    int concurrency,     // closed 모델 가상 사용자 수
+    int rate,            // open 모델 초당 요청 수
+    int maxInFlight,     // open 모델 동시 요청 상한 (넘으면 drop 으로 기록)
+    Duration warmup,
+    Duration duration,
+    int members,
+    int teams,
+    String dbPath,
+    String reportDir) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            System.getProperty("loadtest.model", "closed"),
+            Integer.getInteger("loadtest.concurrency", 32),
+            Integer.getInteger("loadtest.rate", 1000),
+            Integer.getInteger("loadtest.maxInFlight", 1000),
+            Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 10)),
+            Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60)),
+            Integer.getInteger("loadtest.members", 1_000_000),
+            Integer.getInteger("loadtest.teams", 1_000),
+            System.getProperty("loadtest.dbPath", "build/loadtest/db"),
+            System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+    }
+
+    public String jdbcUrl() {
+        return "jdbc:h2:file:" + dbPath + "/datajpa";
+    }
+}
@@ -0,0 +1,88 @@
+package study.kimdatajpa.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.kimdatajpa.KimDataJpaApplication;
+import study.kimdatajpa.view.MemberViewRebuilder;
+
+// MemberController 부하 테스트
+// 1. 로컬 H2 파일 DB 로 앱을 랜덤 포트에 띄운다
+// 2. 팀/회원 데이터를 대량으로 넣는다
+// 3. 워밍업 후 closed/open 모델로 부하를 걸고 엔드포인트별 처리량, p50/p95/p99/p99.9 를 JSON 으로 남긴다
+public class MemberLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KimDataJpaApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=" + config.jdbcUrl(),
+                "spring.jpa.hibernate.ddl-auto=create",
+                "decorator.datasource.p6spy.enable-logging=false", // 측정 대상이 아닌 로그 비용 제거
+                "logging.level.org.hibernate.SQL=info")
+            .run(args);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            long seedStart = System.nanoTime();
+            new DataSeeder(context.getBean(DataSource.class)).seed(config.teams(), config.members());
+            context.getBean(MemberViewRebuilder.class).rebuild(); // JDBC 로 넣은 회원을 member_view 에 반영
+            System.out.printf("seeded %d members / %d teams in %ds%n", config.members(), config.teams(),
+                (System.nanoTime() - seedStart) / 1_000_000_000);
+
+            LoadGenerator generator = new LoadGenerator(port, config.members());
+            run(generator, config, config.warmup(), generator.newStats()); // 워밍업 결과는 버림
+            Map<String, EndpointStats> stats = generator.newStats();
+            run(generator, config, config.duration(), stats);
+
+            writeReport(config, stats);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(LoadGenerator generator, LoadTestConfig config, Duration duration,
+        Map<String, EndpointStats> stats) throws InterruptedException {
+        if ("open".equals(config.model())) {
+            generator.runOpen(config.rate(), config.maxInFlight(), duration, stats);
+        } else {
+            generator.runClosed(config.concurrency(), duration, stats);
+        }
+    }
+
+    private static void writeReport(LoadTestConfig config, Map<String, EndpointStats> stats)
+        throws Exception {
+        double seconds = config.duration().toMillis() / 1000.0;
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((name, endpointStats) -> endpoints.put(name, endpointStats.report(seconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("model", config.model());
+        report.put("concurrency", "open".equals(config.model()) ? null : config.concurrency());
+        report.put("rate", "open".equals(config.model()) ? config.rate() : null);
+        report.put("durationSeconds", seconds);
+        report.put("members", config.members());
+        report.put("teams", config.teams());
+        report.put("endpoints", endpoints);
+
+        File dir = new File(config.reportDir());
+        dir.mkdirs();
+        File file = new File(dir, config.model() + "-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.println("report: " + file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,101 @@
+package study.kimdatajpa.loadtest;
+
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.KimDataJpaApplication;
+import study.kimdatajpa.readonly.ReadOnlyScope;
+import study.kimdatajpa.repository.MemberRepository;
+
+// 읽기 전용 조회 켜기/끄기 비교: 쓰기 트랜잭션(서비스 계층) 안에서 MemberRepository 조회 메서드를 그냥 호출할 때와
+// ReadOnlyScope 로 감싸 호출할 때 (쓰기 트랜잭션 안에서는 @ReadOnlyQueries 가 적용되지 않으므로 명시적으로 감싼다)
+// 호출 시간, 로딩 후 힙 증가량, 트랜잭션 끝 flush(변경 감지) 시간을 출력한다.
+// ./gradlew readOnlyQueryBenchmark -Dbench.members=100000
+public class ReadOnlyQueryBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int members = Integer.getInteger("bench.members", 50_000);
+        String dbPath = System.getProperty("loadtest.dbPath", "build/loadtest/db");
+
+        for (boolean enabled : new boolean[]{false, true}) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(KimDataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                    "spring.datasource.url=jdbc:h2:file:" + dbPath + "/readonly",
+                    "spring.jpa.hibernate.ddl-auto=create",
+                    "decorator.datasource.p6spy.enable-logging=false",
+                    "logging.level.org.hibernate.SQL=info")
+                .run(args);
+            try {
+                new DataSeeder(context.getBean(DataSource.class)).seed(members / 100 + 1, members);
+                System.out.printf("== read-only queries %s ==%n", enabled ? "on" : "off");
+                run(context, enabled);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, boolean readOnly) {
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        ReadOnlyScope scope = context.getBean(ReadOnlyScope.class);
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Map<String, Function<MemberRepository, Object>> finders = new LinkedHashMap<>();
+        finders.put("findAll", MemberRepository::findAll);
+        finders.put("findMemberFetchJoin", MemberRepository::findMemberFetchJoin);
+        finders.put("findByAge(page 1000)", repository -> repository.findByAge(10, PageRequest.of(0, 1000)));
+        finders.put("findByUsername x1000", repository -> {
+            for (int i = 1; i <= 1000; i++) {
+                repository.findByUsername("user" + i);
+            }
+            return null;
+        });
+
+        finders.forEach((name, finder) -> {
+            for (int round = 1; round <= ROUNDS; round++) { // 앞의 라운드는 워밍업
+                int currentRound = round;
+                tx.executeWithoutResult(status -> {
+                    long heapBefore = usedHeap();
+                    long start = System.nanoTime();
+                    Object result = readOnly ? scope.call(() -> finder.apply(memberRepository))
+                        : finder.apply(memberRepository);
+                    long queryNanos = System.nanoTime() - start;
+                    long heapAfter = usedHeap();
+                    Reference.reachabilityFence(result); // 측정이 끝날 때까지 결과를 붙잡아 둔다
+
+                    long flushStart = System.nanoTime();
+                    em.flush();
+                    long flushNanos = System.nanoTime() - flushStart;
+
+                    if (currentRound == ROUNDS) {
+                        System.out.printf("%-22s query %.1fms, heap +%,d KB, flush %.1fms%n", name,
+                            queryNanos / 1e6, (heapAfter - heapBefore) / 1024, flushNanos / 1e6);
+                    }
+                    status.setRollbackOnly();
+                    em.clear();
+                });
+            }
+        });
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
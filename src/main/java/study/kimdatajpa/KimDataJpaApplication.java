@@ -7,8 +7,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing // 스프링 데이터 JPA Auditing 사용
+@EnableScheduling // 주기 작업 (컬럼 스냅샷 재구성 등)
 @SpringBootApplication
 public class KimDataJpaApplication {
 
@@ -0,0 +1,105 @@
+package study.kimdatajpa.analytics;
+
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.entity.MemberChangedEvent;
+
+// MemberColumns 스냅샷 보관
+// 기동 시 member 테이블을 스트리밍으로 읽어 만들고, 커밋된 Member 변경은 모아 두었다가 조회 시점에 합친다 (copy-on-write).
+// 벌크 수정 쿼리는 엔티티 리스너를 거치지 않으므로 주기적으로 전체를 다시 만든다.
+@Slf4j
+@Component
+public class MemberColumnStore {
+
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile MemberColumns snapshot = MemberColumns.EMPTY;
+    private final Map<Long, MemberChangedEvent> pending = new ConcurrentHashMap<>();
+    // 재구성 중에 커밋된 변경 (재구성 중에도 pending 은 이전 스냅샷에 합쳐지므로 따로 모아 새 스냅샷에 다시 적용)
+    private volatile Map<Long, MemberChangedEvent> sinceRebuild;
+
+    public MemberColumnStore(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public MemberColumns snapshot() {
+        if (!pending.isEmpty()) {
+            applyPending();
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${member.columns.rebuild-interval:PT10M}",
+        fixedDelayString = "${member.columns.rebuild-interval:PT10M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, MemberChangedEvent> changes = new ConcurrentHashMap<>();
+        MemberColumns.Builder builder = new MemberColumns.Builder();
+        readOnlyTx.executeWithoutResult(status -> {
+            synchronized (this) {
+                // 스캔 전에 받은 변경은 스캔 결과에 이미 들어 있으므로 이전 스냅샷에만 합치고 비운다
+                // (새 스냅샷에 다시 적용하면 그 뒤에 있었던 벌크 수정을 되돌린다)
+                applyPending();
+                sinceRebuild = changes;
+            }
+            // 스칼라 조회라 영속성 컨텍스트에 쌓이지 않는다 (m.team.id 는 조인 없이 FK 컬럼)
+            try (Stream<Object[]> rows = em.createQuery(
+                    "select m.id, m.age, m.team.id, m.username from Member m order by m.id", Object[].class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream()) {
+                rows.forEach(row -> builder.add((Long) row[0], (Integer) row[1], (Long) row[2], (String) row[3]));
+            }
+        });
+        MemberColumns built = builder.build();
+        synchronized (this) {
+            // 스캔을 시작한 뒤에 받은 변경만 다시 적용한다 (이벤트가 최종 상태를 담고 있어 이미 읽은 행에 중복 적용해도 같다)
+            if (sinceRebuild == changes) {
+                sinceRebuild = null;
+            }
+            snapshot = built.apply(new TreeMap<>(changes));
+        }
+        log.info("member columns built: {} rows in {}ms", built.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // 롤백된 변경이 반영되지 않도록 커밋 후에 받는다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        // sinceRebuild 를 먼저: 새 스냅샷 게시 직후에 넣은 것은 pending 쪽에서 다시 적용된다
+        Map<Long, MemberChangedEvent> rebuilding = sinceRebuild;
+        if (rebuilding != null) {
+            rebuilding.put(event.memberId(), event);
+        }
+        pending.put(event.memberId(), event);
+    }
+
+    private synchronized void applyPending() {
+        TreeMap<Long, MemberChangedEvent> changes = new TreeMap<>();
+        for (Long id : pending.keySet()) {
+            MemberChangedEvent event = pending.remove(id);
+            if (event != null) {
+                changes.put(id, event);
+            }
+        }
+        snapshot = snapshot.apply(changes);
+    }
+}
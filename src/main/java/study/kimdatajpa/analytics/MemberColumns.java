@@ -0,0 +1,299 @@
+package study.kimdatajpa.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.stream.IntStream;
+import study.kimdatajpa.entity.MemberChangedEvent;
+import study.kimdatajpa.search.UsernameHit;
+
+// Member 컬럼형 스냅샷 (불변)
+// member_id, age, team 을 기본형 배열로 들고 username 은 사전 인코딩한다.
+// 집계는 배열을 청크로 나눠 fork-join 으로 병렬 스캔 (루프 본문은 분기 없이 단순하게 유지)
+public final class MemberColumns {
+
+    public static final MemberColumns EMPTY = new Builder().build();
+
+    static final int NO_TEAM = -1;
+    private static final int CHUNK = 1 << 16;
+
+    private final int size;
+    private final long[] ids;          // 오름차순
+    private final int[] ages;
+    private final int[] teamCodes;     // teams 인덱스, 팀 없으면 NO_TEAM
+    private final int[] usernameCodes; // usernames 인덱스
+    private final long[] teams;        // 코드 -> team_id
+    private final Map<Long, Integer> teamCodeById;
+    private final String[] usernames;  // 코드 -> username
+    private final int maxAge;
+
+    public record TeamStats(Long teamId, long count, double averageAge, int minAge, int maxAge) {
+    }
+
+    public record AgeDistribution(Long teamId, int bucketWidth, long[] counts) {
+    }
+
+    private MemberColumns(Builder b) {
+        this.size = b.size;
+        this.ids = Arrays.copyOf(b.ids, b.size);
+        this.ages = Arrays.copyOf(b.ages, b.size);
+        this.teamCodes = Arrays.copyOf(b.teamCodes, b.size);
+        this.usernameCodes = Arrays.copyOf(b.usernameCodes, b.size);
+        this.teams = b.teams.stream().mapToLong(Long::longValue).toArray();
+        this.teamCodeById = Map.copyOf(b.teamCodeById);
+        this.usernames = b.usernames.toArray(String[]::new);
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, ages[i]);
+        }
+        this.maxAge = max;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 나이가 minAge 보다 많은 회원 수 (teamId 가 null 이면 전체)
+    public long countOlderThan(int minAge, Long teamId) {
+        if (teamId == null) {
+            return chunks().mapToLong(c -> {
+                long n = 0;
+                for (int i = from(c), to = to(c); i < to; i++) {
+                    n += ages[i] > minAge ? 1 : 0;
+                }
+                return n;
+            }).sum();
+        }
+        int code = teamCode(teamId);
+        if (code == NO_TEAM) {
+            return 0;
+        }
+        return chunks().mapToLong(c -> {
+            long n = 0;
+            for (int i = from(c), to = to(c); i < to; i++) {
+                n += (ages[i] > minAge & teamCodes[i] == code) ? 1 : 0;
+            }
+            return n;
+        }).sum();
+    }
+
+    // 나이가 minAge 보다 많은 회원 (id 순, limit 개까지)
+    public List<UsernameHit> findOlderThan(int minAge, Long teamId, int limit) {
+        int code = teamId == null ? NO_TEAM : teamCode(teamId);
+        List<UsernameHit> result = new ArrayList<>();
+        if (teamId != null && code == NO_TEAM) {
+            return result;
+        }
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            if (ages[i] > minAge && (teamId == null || teamCodes[i] == code)) {
+                result.add(new UsernameHit(ids[i], usernames[usernameCodes[i]]));
+            }
+        }
+        return result;
+    }
+
+    // 팀별 나이 분포 (bucketWidth 단위 구간별 회원 수)
+    public List<AgeDistribution> ageDistribution(int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("bucketWidth 는 1 이상이어야 합니다: " + bucketWidth);
+        }
+        int buckets = maxAge / bucketWidth + 1;
+        int rows = teams.length + 1; // 마지막 행은 팀 없음
+        long[] counts = chunks().mapToObj(c -> {
+            long[] local = new long[rows * buckets];
+            for (int i = from(c), to = to(c); i < to; i++) {
+                int row = teamCodes[i] == NO_TEAM ? rows - 1 : teamCodes[i];
+                local[row * buckets + Math.max(ages[i], 0) / bucketWidth]++;
+            }
+            return local;
+        }).reduce(new long[rows * buckets], MemberColumns::sum);
+
+        List<AgeDistribution> result = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            Long teamId = row == rows - 1 ? null : teams[row];
+            result.add(new AgeDistribution(teamId, bucketWidth,
+                Arrays.copyOfRange(counts, row * buckets, (row + 1) * buckets)));
+        }
+        return result;
+    }
+
+    // 팀별 회원 수, 평균/최소/최대 나이
+    public List<TeamStats> teamStats() {
+        int rows = teams.length + 1;
+        // [count, sum, min, max] * rows
+        long[] acc = chunks().mapToObj(c -> {
+            long[] local = initStats(rows);
+            for (int i = from(c), to = to(c); i < to; i++) {
+                int base = (teamCodes[i] == NO_TEAM ? rows - 1 : teamCodes[i]) * 4;
+                int age = ages[i];
+                local[base]++;
+                local[base + 1] += age;
+                local[base + 2] = Math.min(local[base + 2], age);
+                local[base + 3] = Math.max(local[base + 3], age);
+            }
+            return local;
+        }).reduce(initStats(rows), MemberColumns::mergeStats);
+
+        List<TeamStats> result = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            long count = acc[row * 4];
+            if (count == 0) {
+                continue;
+            }
+            result.add(new TeamStats(row == rows - 1 ? null : teams[row], count,
+                (double) acc[row * 4 + 1] / count, (int) acc[row * 4 + 2], (int) acc[row * 4 + 3]));
+        }
+        return result;
+    }
+
+    // 변경분을 합친 새 스냅샷 (changes 는 id 순, 같은 id 는 마지막 상태만)
+    MemberColumns apply(NavigableMap<Long, MemberChangedEvent> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        // 이름이 바뀌거나 삭제된 값은 사전에 남으므로, 쓰이지 않는 값이 많아지면 사전을 새로 만든다
+        boolean compact = usernames.length > size * 2L + 1024 || teams.length > size * 2L + 1024;
+        Builder b = compact ? new Builder() : new Builder(this);
+        int i = 0;
+        for (MemberChangedEvent change : changes.values()) {
+            long changedId = change.memberId();
+            for (; i < size && ids[i] < changedId; i++) {
+                copyRow(b, i, compact);
+            }
+            if (i < size && ids[i] == changedId) {
+                i++; // 기존 행은 변경분으로 대체
+            }
+            if (!change.removed()) {
+                b.add(changedId, change.age(), change.teamId(), change.username());
+            }
+        }
+        for (; i < size; i++) {
+            copyRow(b, i, compact);
+        }
+        return b.build();
+    }
+
+    private void copyRow(Builder b, int i, boolean reencode) {
+        if (reencode) {
+            b.add(ids[i], ages[i], teamCodes[i] == NO_TEAM ? null : teams[teamCodes[i]], usernames[usernameCodes[i]]);
+        } else {
+            b.addEncoded(ids[i], ages[i], teamCodes[i], usernameCodes[i]);
+        }
+    }
+
+    private int teamCode(Long teamId) {
+        return teamCodeById.getOrDefault(teamId, NO_TEAM);
+    }
+
+    private IntStream chunks() {
+        return IntStream.range(0, (size + CHUNK - 1) / CHUNK).parallel();
+    }
+
+    private int from(int chunk) {
+        return chunk * CHUNK;
+    }
+
+    private int to(int chunk) {
+        return Math.min(size, (chunk + 1) * CHUNK);
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] r = new long[a.length];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] + b[i];
+        }
+        return r;
+    }
+
+    private static long[] initStats(int rows) {
+        long[] stats = new long[rows * 4];
+        for (int row = 0; row < rows; row++) {
+            stats[row * 4 + 2] = Long.MAX_VALUE;
+            stats[row * 4 + 3] = Long.MIN_VALUE;
+        }
+        return stats;
+    }
+
+    private static long[] mergeStats(long[] a, long[] b) {
+        long[] r = new long[a.length];
+        for (int i = 0; i < r.length; i += 4) {
+            r[i] = a[i] + b[i];
+            r[i + 1] = a[i + 1] + b[i + 1];
+            r[i + 2] = Math.min(a[i + 2], b[i + 2]);
+            r[i + 3] = Math.max(a[i + 3], b[i + 3]);
+        }
+        return r;
+    }
+
+    // id 오름차순으로 한 행씩 추가
+    static final class Builder {
+
+        private long[] ids = new long[1024];
+        private int[] ages = new int[1024];
+        private int[] teamCodes = new int[1024];
+        private int[] usernameCodes = new int[1024];
+        private int size;
+
+        private final List<Long> teams = new ArrayList<>();
+        private final Map<Long, Integer> teamCodeById = new HashMap<>();
+        private final List<String> usernames = new ArrayList<>();
+        private final Map<String, Integer> usernameCodeByValue = new HashMap<>();
+
+        Builder() {
+        }
+
+        // 기존 사전을 이어 쓴다 (기존 행의 코드를 그대로 복사할 수 있게)
+        private Builder(MemberColumns base) {
+            for (long team : base.teams) {
+                teamCodeById.put(team, teams.size());
+                teams.add(team);
+            }
+            for (String username : base.usernames) {
+                usernameCodeByValue.put(username, usernames.size());
+                usernames.add(username);
+            }
+            ensureCapacity(base.size + 16);
+        }
+
+        void add(long id, int age, Long teamId, String username) {
+            int teamCode = NO_TEAM;
+            if (teamId != null) {
+                teamCode = teamCodeById.computeIfAbsent(teamId, t -> {
+                    teams.add(t);
+                    return teams.size() - 1;
+                });
+            }
+            int usernameCode = usernameCodeByValue.computeIfAbsent(username == null ? "" : username, u -> {
+                usernames.add(u);
+                return usernames.size() - 1;
+            });
+            addEncoded(id, age, teamCode, usernameCode);
+        }
+
+        private void addEncoded(long id, int age, int teamCode, int usernameCode) {
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            ages[size] = age;
+            teamCodes[size] = teamCode;
+            usernameCodes[size] = usernameCode;
+            size++;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                int newLength = Math.max(capacity, ids.length * 2);
+                ids = Arrays.copyOf(ids, newLength);
+                ages = Arrays.copyOf(ages, newLength);
+                teamCodes = Arrays.copyOf(teamCodes, newLength);
+                usernameCodes = Arrays.copyOf(usernameCodes, newLength);
+            }
+        }
+
+        MemberColumns build() {
+            return new MemberColumns(this);
+        }
+    }
+}
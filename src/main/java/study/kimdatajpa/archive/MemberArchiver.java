@@ -0,0 +1,102 @@
+package study.kimdatajpa.archive;
+
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.entity.MemberChangedEvent;
+import study.kimdatajpa.entity.MemberChangedEvent.Type;
+
+// 오래 수정되지 않은 회원을 member -> member_archive 로 옮긴다 (member.archive.enabled=true 일 때만)
+// 청크마다 별도 트랜잭션으로 insert ... select 후 delete 해서 잠금과 undo 가 청크 크기를 넘지 않게 한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "member.archive", name = "enabled", havingValue = "true")
+public class MemberArchiver {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher publisher;
+    private final Duration olderThan;
+    private final int chunkSize;
+
+    public MemberArchiver(EntityManager em, PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher publisher,
+        @Value("${member.archive.older-than:365d}") Duration olderThan,
+        @Value("${member.archive.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.publisher = publisher;
+        this.olderThan = olderThan;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${member.archive.interval:PT1H}",
+        fixedDelayString = "${member.archive.interval:PT1H}")
+    public int archive() {
+        return archive(BEGINNING, LocalDateTime.now().minus(olderThan));
+    }
+
+    // lastModifiedDate 가 [from, cutoff) 인 회원만 (테스트에서 범위를 좁힐 때)
+    int archive(LocalDateTime from, LocalDateTime cutoff) {
+        long start = System.nanoTime();
+        int total = 0;
+        while (true) {
+            Integer moved = tx.execute(status -> archiveChunk(from, cutoff));
+            total += moved;
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("archived {} members last modified before {} in {}ms", total, cutoff,
+                (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    private int archiveChunk(LocalDateTime from, LocalDateTime cutoff) {
+        // idx_member_last_modified 범위 조회
+        List<Object[]> rows = em.createQuery(
+                "select m.id, m.username, m.age, m.team.id from Member m " +
+                    "where m.lastModifiedDate >= :from and m.lastModifiedDate < :cutoff " +
+                    "order by m.lastModifiedDate, m.id", Object[].class)
+            .setParameter("from", from)
+            .setParameter("cutoff", cutoff)
+            .setMaxResults(chunkSize)
+            .getResultList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+
+        em.createNativeQuery("insert into member_archive (member_id, username, age, team_id, " +
+                "created_date, last_modified_date, created_by, last_modified_by, archived_at) " +
+                "select member_id, username, age, team_id, " +
+                "created_date, last_modified_date, created_by, last_modified_by, :archivedAt " +
+                "from member where member_id in (:ids)")
+            .setParameter("archivedAt", LocalDateTime.now())
+            .setParameter("ids", ids)
+            .executeUpdate();
+        em.createQuery("delete from Member m where m.id in :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+
+        // 벌크 쿼리는 엔티티 리스너를 거치지 않으므로 보관 이벤트를 직접 발행 (커밋 후 인덱스 등에 반영, 삭제 기록은 남기지 않음)
+        for (Object[] row : rows) {
+            publisher.publishEvent(new MemberChangedEvent(Type.ARCHIVED, (Long) row[0], (String) row[1],
+                (Integer) row[2], (Long) row[3]));
+        }
+        return rows.size();
+    }
+}
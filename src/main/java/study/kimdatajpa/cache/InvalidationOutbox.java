@@ -0,0 +1,171 @@
+package study.kimdatajpa.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 노드 간 결과 캐시 무효화 (cache.invalidation.outbox.enabled=true 일 때만)
+// 쓰기와 같은 트랜잭션에서 outbox 테이블에 테이블 이름을 남기고, 각 노드는 마지막으로 읽은 id(high-water mark) 이후만 폴링한다.
+// identity 는 커밋 순서와 다르게 커질 수 있어서, 건너뛴 id 는 gap 으로 기억해 두었다가 gap-timeout 동안 다시 찾는다
+// (그 안에 안 보이면 롤백된 것으로 본다).
+// 폴링은 전용 스레드에서 돌아 다른 @Scheduled 작업(컬럼 스냅샷 재구성, 보관 이동 등) 뒤에 밀리지 않는다.
+// 전파 지연은 최대 poll-interval + 폴링 한 번 시간, 식별자보다 늦게 커밋된 경우 최대 gap-timeout + poll-interval.
+// 무효화하는 것은 @QueryResultCache 결과뿐이다. UsernameIndex, MemberColumnStore 는 자기 노드의 커밋 이벤트만 받으므로
+// 다른 노드의 쓰기는 MemberColumnStore 의 주기 재구성(rebuild-interval) 때에야 반영되고 UsernameIndex 에는 반영되지 않는다.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation.outbox", name = "enabled", havingValue = "true")
+public class InvalidationOutbox {
+
+    static final String TABLE = "cache_invalidation_outbox";
+    private static final int MAX_GAPS = 10_000;
+
+    private record Row(long id, String table, String nodeId, long lagMillis) {
+    }
+
+    private static final RowMapper<Row> ROW = (rs, rowNum) -> new Row(rs.getLong("id"),
+        rs.getString("table_name"), rs.getString("node_id"), rs.getLong("lag_ms"));
+    private static final String SELECT = "select id, table_name, node_id, " +
+        "datediff('MILLISECOND', created_at, current_timestamp) as lag_ms from " + TABLE; // DB 시계 기준 지연
+
+    private final JdbcTemplate jdbc;
+    private final QueryResultCacheManager cacheManager;
+    private final String nodeId;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long highWater;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>(); // 건너뛴 id -> 처음 발견한 시각
+    private volatile int gapCount;
+
+    private final Timer lag;
+    private final Counter received;
+
+    public InvalidationOutbox(JdbcTemplate jdbc, QueryResultCacheManager cacheManager, MeterRegistry registry,
+        @Value("${cache.invalidation.outbox.node-id:${random.uuid}}") String nodeId,
+        @Value("${cache.invalidation.outbox.batch-size:1000}") int batchSize,
+        @Value("${cache.invalidation.outbox.gap-timeout:10s}") Duration gapTimeout,
+        @Value("${cache.invalidation.outbox.retention:1h}") Duration retention,
+        @Value("${cache.invalidation.outbox.poll-interval:200ms}") Duration pollInterval) {
+        this.jdbc = jdbc;
+        this.cacheManager = cacheManager;
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.retention = retention;
+        this.pollInterval = pollInterval;
+
+        jdbc.execute("create table if not exists " + TABLE + " (" +
+            "id bigint generated by default as identity primary key, " +
+            "table_name varchar(128) not null, " +
+            "node_id varchar(64) not null, " +
+            "created_at timestamp default current_timestamp not null)");
+        this.highWater = jdbc.queryForObject("select coalesce(max(id), 0) from " + TABLE, Long.class); // 과거 이벤트는 재생하지 않음
+
+        this.lag = Timer.builder("cache.invalidation.lag")
+            .description("다른 노드의 쓰기 커밋부터 이 노드에서 무효화할 때까지")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.received = registry.counter("cache.invalidation.received");
+        Gauge.builder("cache.invalidation.gaps", this, outbox -> outbox.gapCount).register(registry);
+    }
+
+    // 쓰기 문장을 실행한 커넥션에 바로 남긴다 -> 쓰기와 함께 커밋/롤백
+    // (p6spy 로 감싸지 않은 원본 커넥션이라 이 insert 는 다시 리스너로 들어오지 않는다)
+    void append(Connection connection, String table) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+            "insert into " + TABLE + " (table_name, node_id) values (?, ?)")) {
+            insert.setString(1, table);
+            insert.setString(2, nodeId);
+            insert.executeUpdate();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (RuntimeException e) { // 예외가 나가면 이후 실행이 모두 취소된다
+                log.warn("cache invalidation poll failed", e);
+            }
+        }, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        poller.shutdownNow();
+    }
+
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        List<Row> rows = jdbc.query(SELECT + " where id > ? order by id limit ?", ROW, highWater, batchSize);
+        for (Row row : rows) {
+            for (long missing = highWater + 1; missing < row.id() && gaps.size() < MAX_GAPS; missing++) {
+                gaps.put(missing, now);
+            }
+            apply(row);
+            highWater = row.id();
+        }
+
+        if (!gaps.isEmpty()) {
+            String ids = String.join(",", Collections.nCopies(gaps.size(), "?"));
+            for (Row row : jdbc.query(SELECT + " where id in (" + ids + ")", ROW, gaps.keySet().toArray())) {
+                apply(row);
+                gaps.remove(row.id());
+            }
+            for (Iterator<Long> it = gaps.values().iterator(); it.hasNext(); ) {
+                if (now - it.next() > gapTimeoutMillis) {
+                    it.remove(); // 롤백된 트랜잭션의 id
+                }
+            }
+        }
+        gapCount = gaps.size();
+    }
+
+    private void apply(Row row) {
+        received.increment();
+        lag.record(Math.max(0, row.lagMillis()), TimeUnit.MILLISECONDS);
+        if (!nodeId.equals(row.nodeId())) { // 자기 쓰기는 이미 로컬에서 무효화함
+            cacheManager.invalidate(row.table());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.outbox.cleanup-interval:PT10M}")
+    public void cleanup() {
+        int deleted = jdbc.update("delete from " + TABLE +
+            " where created_at < dateadd('SECOND', ?, current_timestamp)", -retention.toSeconds());
+        if (deleted > 0) {
+            log.debug("cache invalidation outbox cleanup: {} rows", deleted);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package study.kimdatajpa.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 리포지토리 메서드 결과 캐시
+// tables 에 적은 테이블에 쓰기(insert/update/delete, 벌크 쿼리 포함)가 일어나면 해당 메서드의 캐시를 모두 비운다.
+// 캐시된 결과는 호출한 곳끼리 공유하므로 불변 타입(String, 숫자, record 등)을 돌려주는 메서드에만 쓴다 (컬렉션은 읽기 전용으로 감싸서 돌려준다).
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryResultCache {
+
+    // 결과가 의존하는 테이블 (소문자)
+    String[] tables();
+
+    // 이 메서드의 캐시 전체에 담을 수 있는 최대 행 수 (결과 하나의 무게 = 행 수)
+    long maxRows() default 100_000;
+
+    // 이보다 큰 결과는 캐시하지 않는다
+    int maxResultRows() default 10_000;
+
+    long ttlSeconds() default 300;
+}
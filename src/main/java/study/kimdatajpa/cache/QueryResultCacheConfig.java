@@ -0,0 +1,33 @@
+package study.kimdatajpa.cache;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class QueryResultCacheConfig {
+
+    // 리포지토리 팩토리 빈이 프록시를 만들기 전에 캐시 인터셉터를 추가한다
+    // (static: 다른 빈보다 먼저 만들어져야 하는 BeanPostProcessor)
+    @Bean
+    public static BeanPostProcessor queryResultCacheRepositoryPostProcessor(
+        ObjectProvider<QueryResultCacheManager> manager) {
+        QueryResultCacheInterceptor interceptor = new QueryResultCacheInterceptor(manager);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> {
+                            interceptor.register(repositoryInformation.getRepositoryInterface());
+                            proxyFactory.addAdvice(interceptor);
+                        }));
+                }
+                return bean;
+            }
+        };
+    }
+}
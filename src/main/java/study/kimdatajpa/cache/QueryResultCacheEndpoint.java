@@ -0,0 +1,31 @@
+package study.kimdatajpa.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// /actuator/querycache : 메서드별 적중/실패/제거/무효화 횟수와 크기, DELETE 로 전체 비우기
+@Component
+@Endpoint(id = "querycache")
+@RequiredArgsConstructor
+public class QueryResultCacheEndpoint {
+
+    private final QueryResultCacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, Object> queryCache() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("caches", cacheManager.stats());
+        result.put("tableGenerations", cacheManager.generations());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        cacheManager.clear();
+    }
+}
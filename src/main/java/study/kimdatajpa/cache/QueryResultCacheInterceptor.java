@@ -0,0 +1,91 @@
+package study.kimdatajpa.cache;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.kimdatajpa.cache.QueryResultCacheManager.MethodCache;
+
+// 리포지토리 프록시에 붙는 캐시 인터셉터 (인터페이스 메서드의 @QueryResultCache 를 직접 읽는다)
+class QueryResultCacheInterceptor implements MethodInterceptor {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Long.class, Integer.class,
+        Short.class, Byte.class, Double.class, Float.class, Boolean.class, Character.class,
+        BigDecimal.class, BigInteger.class, UUID.class);
+
+    private final ObjectProvider<QueryResultCacheManager> manager;
+    private final Map<Method, Optional<QueryResultCache>> configs = new ConcurrentHashMap<>();
+
+    QueryResultCacheInterceptor(ObjectProvider<QueryResultCacheManager> manager) {
+        this.manager = manager;
+    }
+
+    // 프록시를 만들 때 미리 캐시를 등록 (아직 호출 전이어도 쓰기 감지/outbox 기록 대상 테이블이 되도록)
+    void register(Class<?> repositoryInterface) {
+        for (Method method : repositoryInterface.getMethods()) {
+            QueryResultCache config = AnnotationUtils.findAnnotation(method, QueryResultCache.class);
+            if (config != null) {
+                checkImmutable(method);
+                manager.getObject().cacheFor(method, config);
+            }
+        }
+    }
+
+    // 캐시된 결과는 호출한 곳끼리 공유하므로 원소가 불변 타입인 메서드만 허용 (가변 DTO 는 기동 시 실패)
+    private static void checkImmutable(Method method) {
+        Class<?> type = method.getReturnType();
+        if (Collection.class.isAssignableFrom(type) || type == Optional.class) {
+            type = ResolvableType.forMethodReturnType(method).getGeneric(0).resolve(Object.class);
+        }
+        if (!(type.isPrimitive() || type.isEnum() || type.isRecord() || IMMUTABLE_TYPES.contains(type)
+            || type.getPackageName().equals("java.time"))) {
+            throw new IllegalStateException("@QueryResultCache 는 불변 타입 결과에만 쓸 수 있습니다: "
+                + method.getDeclaringClass().getSimpleName() + "." + method.getName() + " -> " + type.getName());
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        QueryResultCache config = configs.computeIfAbsent(method,
+            m -> Optional.ofNullable(AnnotationUtils.findAnnotation(m, QueryResultCache.class))).orElse(null);
+        // 쓰기 트랜잭션 안에서는 커밋 전 데이터가 보일 수 있으므로 캐시를 쓰지 않는다
+        if (config == null || (TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return invocation.proceed();
+        }
+
+        QueryResultCacheManager cacheManager = manager.getObject();
+        MethodCache methodCache = cacheManager.cacheFor(method, config);
+        Object key = new SimpleKey(invocation.getArguments());
+        Object cached = methodCache.cache().getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = cacheManager.generation(methodCache.tables());
+        Object result = invocation.proceed();
+        if (result instanceof List<?> list) {
+            result = Collections.unmodifiableList(list);
+        }
+        if (result != null && QueryResultCacheManager.weight(result) <= methodCache.maxResultRows()
+            && cacheManager.generation(methodCache.tables()) == generation) {
+            methodCache.cache().put(key, result);
+        }
+        return result;
+    }
+}
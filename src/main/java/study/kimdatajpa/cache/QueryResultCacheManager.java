@@ -0,0 +1,121 @@
+package study.kimdatajpa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// @QueryResultCache 메서드별 Caffeine 캐시와 테이블 -> 캐시 의존 관계
+// 테이블마다 세대(generation) 번호를 두고, 조회 전후로 세대가 바뀌었으면 (그 사이 쓰기가 있었으면) 결과를 넣지 않는다.
+@Slf4j
+@Component
+public class QueryResultCacheManager {
+
+    public record MethodCache(String name, Set<String> tables, int maxResultRows, Cache<Object, Object> cache) {
+    }
+
+    public record Stats(String name, Set<String> tables, long hits, long misses, double hitRate,
+                        long evictions, long invalidations, long size, long rows) {
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Method, MethodCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, List<MethodCache>> cachesByTable = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    public QueryResultCacheManager(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    MethodCache cacheFor(Method method, QueryResultCache config) {
+        return caches.computeIfAbsent(method, m -> {
+            String name = m.getDeclaringClass().getSimpleName() + "." + m.getName();
+            Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumWeight(config.maxRows())
+                .weigher((key, value) -> weight(value))
+                .expireAfterWrite(Duration.ofSeconds(config.ttlSeconds()))
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(registry, cache, name);
+
+            Set<String> tables = Set.of(config.tables());
+            MethodCache methodCache = new MethodCache(name, tables, config.maxResultRows(), cache);
+            for (String table : tables) {
+                cachesByTable.computeIfAbsent(table.toLowerCase(Locale.ROOT), t -> new CopyOnWriteArrayList<>())
+                    .add(methodCache);
+            }
+            return methodCache;
+        });
+    }
+
+    // 의존하는 캐시가 있는 테이블인지 (없으면 무효화/outbox 기록 생략)
+    public boolean tracks(String table) {
+        return cachesByTable.containsKey(table.toLowerCase(Locale.ROOT));
+    }
+
+    long generation(Set<String> tables) {
+        long sum = 0;
+        for (String table : tables) {
+            sum += generations.computeIfAbsent(table.toLowerCase(Locale.ROOT), t -> new AtomicLong()).get();
+        }
+        return sum;
+    }
+
+    // 세대를 먼저 올려서 지금 진행 중인 조회 결과가 캐시에 들어가지 않게 한다
+    public void invalidate(String table) {
+        String key = table.toLowerCase(Locale.ROOT);
+        List<MethodCache> dependents = cachesByTable.get(key);
+        if (dependents == null) {
+            return;
+        }
+        generations.computeIfAbsent(key, t -> new AtomicLong()).incrementAndGet();
+        for (MethodCache methodCache : dependents) {
+            methodCache.cache().invalidateAll();
+            invalidations.computeIfAbsent(methodCache.name(), n -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public void clear() {
+        caches.values().forEach(methodCache -> methodCache.cache().invalidateAll());
+    }
+
+    public List<Stats> stats() {
+        return caches.values().stream()
+            .map(methodCache -> {
+                CacheStats stats = methodCache.cache().stats();
+                long rows = methodCache.cache().asMap().values().stream()
+                    .mapToLong(QueryResultCacheManager::weight)
+                    .sum();
+                AtomicLong invalidated = invalidations.get(methodCache.name());
+                return new Stats(methodCache.name(), methodCache.tables(), stats.hitCount(), stats.missCount(),
+                    stats.hitRate(), stats.evictionCount(), invalidated == null ? 0 : invalidated.get(),
+                    methodCache.cache().estimatedSize(), rows);
+            })
+            .toList();
+    }
+
+    Map<String, Long> generations() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        generations.forEach((table, generation) -> result.put(table, generation.get()));
+        return result;
+    }
+
+    static int weight(Object value) {
+        return value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+    }
+}
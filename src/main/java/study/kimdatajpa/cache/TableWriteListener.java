@@ -0,0 +1,90 @@
+package study.kimdatajpa.cache;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 쓰기 SQL 에서 테이블 이름을 뽑아 해당 테이블에 의존하는 결과 캐시를 비운다
+// JDBC 레벨에서 보므로 엔티티 저장, @Modifying 벌크 쿼리, JdbcTemplate 쓰기를 모두 잡는다.
+// 실행 직후 한 번, 커밋(또는 롤백) 후 한 번 더 비운다 (커밋 전에 다른 트랜잭션이 이전 값을 다시 캐시했을 수 있음)
+// outbox 를 켜면 다른 노드를 위해 같은 트랜잭션에서 테이블당 한 번씩 기록한다.
+@Component
+public class TableWriteListener extends JdbcEventListener {
+
+    private static final Pattern WRITE = Pattern.compile(
+        "^\\s*(?:insert\\s+into|update|delete\\s+from|delete|merge\\s+into|truncate\\s+table)\\s+([\\w.\"`]+)",
+        Pattern.CASE_INSENSITIVE);
+
+    private final QueryResultCacheManager cacheManager;
+    private final ObjectProvider<InvalidationOutbox> outbox;
+
+    public TableWriteListener(QueryResultCacheManager cacheManager, ObjectProvider<InvalidationOutbox> outbox) {
+        this.cacheManager = cacheManager;
+        this.outbox = outbox;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos,
+        SQLException e) {
+        String table = writtenTable(statementInformation.getSql());
+        if (e != null || table == null || !cacheManager.tracks(table)) {
+            return;
+        }
+        cacheManager.invalidate(table);
+
+        boolean firstInTransaction = true;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            firstInTransaction = writtenTables().add(table);
+        }
+        InvalidationOutbox invalidationOutbox = outbox.getIfAvailable();
+        if (invalidationOutbox != null && firstInTransaction) {
+            try {
+                invalidationOutbox.append(statementInformation.getConnectionInformation().getConnection(), table);
+            } catch (SQLException ex) {
+                throw new DataAccessResourceFailureException("캐시 무효화 outbox 기록 실패: " + table, ex);
+            }
+        }
+    }
+
+    // 트랜잭션마다 쓴 테이블 (완료 후 다시 무효화)
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenTables() {
+        Set<String> tables = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (tables == null) {
+            Set<String> newTables = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, newTables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TableWriteListener.this);
+                    newTables.forEach(cacheManager::invalidate);
+                }
+            });
+            tables = newTables;
+        }
+        return tables;
+    }
+
+    static String writtenTable(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        Matcher matcher = WRITE.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        String name = matcher.group(1).replace("\"", "").replace("`", "");
+        int dot = name.lastIndexOf('.');
+        return (dot >= 0 ? name.substring(dot + 1) : name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,40 @@
+package study.kimdatajpa.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// 기동 시간 측정: JVM 시작 -> 애플리케이션 준비 완료 -> 첫 요청 응답 완료
+@Slf4j
+@Component
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private final AtomicBoolean firstRequestDone = new AtomicBoolean();
+
+    public static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready() {
+        log.info("time-to-ready = {}ms", uptimeMillis());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (!firstRequestDone.get() && firstRequestDone.compareAndSet(false, true)) {
+            log.info("time-to-first-request = {}ms ({})", uptimeMillis(), request.getRequestURI());
+        }
+    }
+}
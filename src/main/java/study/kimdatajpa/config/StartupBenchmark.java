@@ -0,0 +1,53 @@
+package study.kimdatajpa.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+// 기동 벤치마크: 준비가 끝나면 자기 자신에게 첫 요청을 보내고 time-to-first-request 를 출력
+// startup.benchmark.exit=true 면 측정 후 종료 (AppCDS 학습 실행에도 사용)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "startup.benchmark.enabled", havingValue = "true")
+public class StartupBenchmark implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Value("${startup.benchmark.path:/members}")
+    private String path;
+
+    @Value("${startup.benchmark.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long readyAt = FirstRequestTimer.uptimeMillis();
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer()
+            .getPort();
+
+        int status;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .GET().build();
+            status = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            throw new IllegalStateException("첫 요청 실패: " + path, e);
+        }
+        long firstResponseAt = FirstRequestTimer.uptimeMillis();
+
+        log.info("startup benchmark: ready={}ms, first-request={}ms, path={}, status={}",
+            readyAt, firstResponseAt, path, status);
+
+        if (exit) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package study.kimdatajpa.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.kimdatajpa.metrics.PersistenceContextSampler;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final PersistenceContextSampler persistenceContextSampler;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(persistenceContextSampler); // 요청별 영속성 컨텍스트 크기 샘플링
+    }
+}
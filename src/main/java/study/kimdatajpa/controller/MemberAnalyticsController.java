@@ -0,0 +1,45 @@
+package study.kimdatajpa.controller;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.kimdatajpa.analytics.MemberColumnStore;
+import study.kimdatajpa.analytics.MemberColumns.AgeDistribution;
+import study.kimdatajpa.analytics.MemberColumns.TeamStats;
+import study.kimdatajpa.search.UsernameHit;
+
+// 회원 분석 API (DB 대신 메모리 컬럼 스냅샷에서 계산)
+@RestController
+@RequestMapping("/analytics/members")
+@RequiredArgsConstructor
+public class MemberAnalyticsController {
+
+    private final MemberColumnStore columnStore;
+
+    @GetMapping("/teams")
+    public List<TeamStats> teamStats() {
+        return columnStore.snapshot().teamStats();
+    }
+
+    @GetMapping("/age-distribution")
+    public List<AgeDistribution> ageDistribution(
+        @RequestParam(value = "bucket", defaultValue = "10") int bucket) {
+        return columnStore.snapshot().ageDistribution(bucket);
+    }
+
+    @GetMapping("/count")
+    public long countOlderThan(@RequestParam(value = "minAge", defaultValue = "0") int minAge,
+        @RequestParam(value = "teamId", required = false) Long teamId) {
+        return columnStore.snapshot().countOlderThan(minAge, teamId);
+    }
+
+    @GetMapping
+    public List<UsernameHit> findOlderThan(@RequestParam(value = "minAge", defaultValue = "0") int minAge,
+        @RequestParam(value = "teamId", required = false) Long teamId,
+        @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return columnStore.snapshot().findOlderThan(minAge, teamId, Math.max(1, Math.min(limit, 1000)));
+    }
+}
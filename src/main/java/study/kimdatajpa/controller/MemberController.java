@@ -1,27 +1,40 @@
 package study.kimdatajpa.controller;
 
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import study.kimdatajpa.dto.MemberDto;
 import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.FetchPlan;
 import study.kimdatajpa.repository.MemberRepository;
+import study.kimdatajpa.search.UsernameIndex;
+import study.kimdatajpa.service.MemberService;
+import study.kimdatajpa.sync.MemberChangeFeed;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final Set<String> EXPANSIONS = Set.of("team"); // ?expand= 로 함께 조회할 수 있는 연관관계
+    private static final Set<String> SORTS = Set.of("id", "username", "age", "teamName"); // ?sort= 허용 프로퍼티
+
     private final MemberRepository memberRepository;
+    private final MemberService memberService;
+    private final UsernameIndex usernameIndex;
+    private final MemberChangeFeed memberChangeFeed;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
-        return member.getUsername();
+        return memberService.findUsername(id);
     }
 
     // 도메인 클래스 컨버터 사용
@@ -31,11 +44,54 @@ public class MemberController {
         return member.getUsername();
     }
 
-    // 페이징과 정렬
+    // 페이징과 정렬 (?expand=team 일 때만 team 조인해서 teamName 포함)
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username", // 글로벌 설정보다 우선함
-        direction = Sort.Direction.DESC) Pageable pageable) {
-        return memberRepository.findAll(pageable).map(MemberDto::new); // Page 내용을 DTO 로 변환
+    public Page<MemberDto> list(@RequestParam(value = "expand", required = false) String expand,
+        @PageableDefault(size = 5, sort = "username", // 글로벌 설정보다 우선함
+            direction = Sort.Direction.DESC) Pageable pageable) {
+        return memberService.findMemberDtoPage(fetchPlan(expand), checkSort(pageable)); // 엔티티 조회 없이 DTO 로 바로 조회
+    }
+
+    // 명세 검색 (?username=&teamName=&expand=team)
+    @GetMapping("/members/search")
+    public Page<MemberDto> search(@RequestParam(value = "username", required = false) String username,
+        @RequestParam(value = "teamName", required = false) String teamName,
+        @RequestParam(value = "expand", required = false) String expand,
+        @PageableDefault(size = 5, sort = "username", direction = Sort.Direction.DESC) Pageable pageable) {
+        return memberService.search(username, teamName, fetchPlan(expand), checkSort(pageable));
+    }
+
+    // username 자동완성 (DB 대신 메모리 인덱스 조회)
+    @GetMapping("/members/autocomplete")
+    public UsernameIndex.Result autocomplete(@RequestParam("prefix") String prefix,
+        @RequestParam(value = "size", defaultValue = "10") int size) {
+        return usernameIndex.search(prefix, Math.max(1, Math.min(size, 100)));
+    }
+
+    // 증분 동기화: token 이후 변경/삭제된 회원 (첫 요청은 token 없이, 이후 응답의 token 을 그대로)
+    @GetMapping("/members/changes")
+    public MemberChangeFeed.ChangeBatch changes(@RequestParam(value = "token", required = false) String token,
+        @RequestParam(value = "size", defaultValue = "500") int size) {
+        return memberChangeFeed.changesSince(token, Math.max(1, Math.min(size, 5000)));
+    }
+
+    private static FetchPlan fetchPlan(String expand) {
+        try {
+            return FetchPlan.parse(expand, EXPANSIONS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    // 모르는 정렬 프로퍼티는 400 (리포지토리의 SortWhitelist 까지 가면 예외 변환을 거쳐 500 이 된다)
+    private static Pageable checkSort(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTS.contains(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "허용되지 않은 정렬 프로퍼티: " + order.getProperty());
+            }
+        }
+        return pageable;
     }
 
     //@PostConstruct
@@ -16,6 +16,10 @@ public class MemberDto {
         this.teamName = teamName;
     }
 
+    public MemberDto(Long id, String username) { // 팀 없이 조회 (expand 없음)
+        this(id, username, null);
+    }
+
     public MemberDto(Member member) {
         this.id = member.getId();
         this.username = member.getUsername();
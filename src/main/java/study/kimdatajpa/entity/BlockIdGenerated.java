@@ -0,0 +1,18 @@
+package study.kimdatajpa.entity;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+// id_block 테이블에서 id 블록을 예약해서 쓰는 식별자 (BlockIdGenerator)
+@IdGeneratorType(BlockIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface BlockIdGenerated {
+
+    // id_block 의 name (엔티티마다 별도 번호 공간)
+    String value();
+}
@@ -0,0 +1,156 @@
+package study.kimdatajpa.entity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+// 블록 단위 id 할당기
+// 노드마다 id_block 테이블에서 id_block.size 개씩 예약해 두고 JVM 안에서는 AtomicLong 으로 잠금 없이 나눠준다.
+// 블록이 1/4 남으면 다음 블록을 백그라운드에서 미리 예약한다. 미리 받지 못해 기다린 횟수는 id.block.stalls 로 남긴다.
+public class BlockIdGenerator implements IdentifierGenerator {
+
+    public static final String BLOCK_SIZE = "id_block.size";
+
+    private static final ExecutorService PREFETCH = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        final AtomicLong next;
+        final long end; // 미포함
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private final String name;
+    private final ServiceRegistry serviceRegistry;
+    private final int blockSize;
+    private final int prefetchAt;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private CompletableFuture<Block> prefetched; // this 로 동기화
+
+    private final Counter stalls;
+    private final Timer stallTime;
+    private final Timer reserveTime;
+
+    public BlockIdGenerator(BlockIdGenerated config, java.lang.reflect.Member idMember,
+        CustomIdGeneratorCreationContext context) {
+        this.name = config.value();
+        this.serviceRegistry = context.getServiceRegistry();
+        this.blockSize = ConfigurationHelper.getInt(BLOCK_SIZE,
+            serviceRegistry.getService(ConfigurationService.class).getSettings(), 100);
+        this.prefetchAt = Math.max(1, blockSize / 4);
+
+        this.stalls = Metrics.counter("id.block.stalls", "name", name);
+        this.stallTime = Metrics.timer("id.block.stall", "name", name);
+        this.reserveTime = Metrics.timer("id.block.reserve", "name", name);
+        createTable();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                if (block.end - id == prefetchAt) { // 정확히 한 스레드만 이 값을 받는다
+                    prefetch();
+                }
+                return id;
+            }
+            nextBlock(block);
+        }
+    }
+
+    private synchronized void prefetch() {
+        if (prefetched == null) {
+            prefetched = CompletableFuture.supplyAsync(this::reserve, PREFETCH);
+        }
+    }
+
+    private synchronized void nextBlock(Block exhausted) {
+        if (current.get() != exhausted) {
+            return; // 다른 스레드가 이미 교체함
+        }
+        CompletableFuture<Block> future = prefetched;
+        prefetched = null;
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            current.set(future.join());
+            return;
+        }
+
+        // 미리 받아둔 블록이 없어 기다려야 함 (기동 후 첫 블록은 제외)
+        if (exhausted != Block.EMPTY) {
+            stalls.increment();
+        }
+        long start = System.nanoTime();
+        Block next = null;
+        if (future != null) {
+            try {
+                next = future.join();
+            } catch (CompletionException e) {
+                // 미리 예약하다 실패했으면 지금 다시 시도
+            }
+        }
+        current.set(next != null ? next : reserve());
+        stallTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void createTable() {
+        ConnectionProvider connectionProvider = serviceRegistry.getService(ConnectionProvider.class);
+        try {
+            Connection connection = connectionProvider.getConnection();
+            try {
+                IdBlockTable.createTable(connection);
+            } finally {
+                connectionProvider.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new IdentifierGenerationException("id_block 테이블 생성 실패", e);
+        }
+    }
+
+    // 엔티티 트랜잭션과 별개의 커넥션으로 예약 후 바로 커밋
+    private Block reserve() {
+        long start = System.nanoTime();
+        ConnectionProvider connectionProvider = serviceRegistry.getService(ConnectionProvider.class);
+        try {
+            Connection connection = connectionProvider.getConnection();
+            try {
+                long end = IdBlockTable.reserve(connection, name, blockSize);
+                return new Block(end - blockSize, end);
+            } finally {
+                connectionProvider.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new IdentifierGenerationException("id 블록 예약 실패: " + name, e);
+        } finally {
+            reserveTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package study.kimdatajpa.entity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// id 블록 예약 테이블: name 별로 아직 아무 노드에도 나눠주지 않은 다음 id 를 가진다
+// 예약은 update 한 번 (행 잠금) 이라 여러 노드가 동시에 예약해도 블록이 겹치지 않는다.
+public final class IdBlockTable {
+
+    private static final String DUPLICATE_KEY = "23505";
+
+    private IdBlockTable() {
+    }
+
+    // 없으면 만든다 (BlockIdGenerator 를 만들 때 한 번, 예약할 때마다 DDL 을 보내지 않도록)
+    public static void createTable(Connection connection) throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("create table if not exists id_block " +
+                "(name varchar(64) not null primary key, next_val bigint not null)");
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    // [반환값 - size, 반환값) 구간을 예약
+    public static long reserve(Connection connection, String name, int size) throws SQLException {
+        return inTransaction(connection, () -> {
+            ensureRow(connection, name);
+            try (PreparedStatement update = connection.prepareStatement(
+                "update id_block set next_val = next_val + ? where name = ?")) {
+                update.setInt(1, size);
+                update.setString(2, name);
+                update.executeUpdate();
+            }
+            return nextVal(connection, name);
+        });
+    }
+
+    // 직접 넣은 id 뒤에서부터 예약되도록 다음 값을 최소 minNext 로 올린다 (대량 입력 후)
+    public static void advanceTo(Connection connection, String name, long minNext) throws SQLException {
+        inTransaction(connection, () -> {
+            ensureRow(connection, name);
+            try (PreparedStatement update = connection.prepareStatement(
+                "update id_block set next_val = greatest(next_val, ?) where name = ?")) {
+                update.setLong(1, minNext);
+                update.setString(2, name);
+                update.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    private static void ensureRow(Connection connection, String name) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+            "insert into id_block (name, next_val) select cast(? as varchar(64)), 1 " +
+                "where not exists (select 1 from id_block where name = ?)")) {
+            insert.setString(1, name);
+            insert.setString(2, name);
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            if (!DUPLICATE_KEY.equals(e.getSQLState())) { // 다른 노드가 먼저 넣은 경우는 무시
+                throw e;
+            }
+        }
+    }
+
+    private static long nextVal(Connection connection, String name) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+            "select next_val from id_block where name = ?")) {
+            select.setString(1, name);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private interface Work<T> {
+        T execute() throws SQLException;
+    }
+
+    // 엔티티 저장 트랜잭션과 별개로 바로 커밋 (롤백되어도 예약한 블록은 다시 쓰지 않는다)
+    private static <T> T inTransaction(Connection connection, Work<T> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = work.execute();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -25,6 +25,11 @@ public class Item implements Persistable<String> {
         this.id = id;
     }
 
+    // 시간 순 id 로 생성 (createdDate 가 비어 있으므로 save 시 select 없이 바로 insert)
+    public static Item create() {
+        return new Item(ItemIdGenerator.next());
+    }
+
     @Override
     public String getId() {
         return id;
@@ -0,0 +1,65 @@
+package study.kimdatajpa.entity;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Item id 생성기 (ULID 형식: 48비트 밀리초 시각 + 80비트 난수, Crockford Base32 26자)
+// 시간 순으로 정렬되므로 PK 인덱스의 끝에만 insert 가 몰려 페이지 분할이 적다 (랜덤 UUID 는 인덱스 전체에 흩어진다).
+// 같은 밀리초 안에서는 이전 값 + 1 로 단조 증가하고, 노드 간에는 80비트 난수로 조율 없이 충돌을 피한다.
+public final class ItemIdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final long RANDOM_HI_MASK = 0xFFFFL; // 상위 16비트
+
+    private static final Random RANDOM = new SecureRandom();
+    private static final AtomicReference<State> LAST = new AtomicReference<>(new State(0, 0, 0));
+
+    // time(48) | randomHi(16) | randomLo(64)
+    record State(long time, long randomHi, long randomLo) {
+    }
+
+    private ItemIdGenerator() {
+    }
+
+    public static String next() {
+        return encode(nextState(System.currentTimeMillis()));
+    }
+
+    static State nextState(long now) {
+        while (true) {
+            State last = LAST.get();
+            State next;
+            if (now > last.time()) {
+                next = new State(now, RANDOM.nextLong() & RANDOM_HI_MASK, RANDOM.nextLong());
+            } else {
+                next = increment(last); // 같은 밀리초이거나 시계가 뒤로 간 경우에도 순서 유지
+            }
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static State increment(State last) {
+        long lo = last.randomLo() + 1;
+        long hi = lo == 0 ? (last.randomHi() + 1) & RANDOM_HI_MASK : last.randomHi();
+        if (lo == 0 && hi == 0) { // 80비트 난수가 넘침 -> 다음 밀리초로
+            return new State(last.time() + 1, 0, 0);
+        }
+        return new State(last.time(), hi, lo);
+    }
+
+    static String encode(State state) {
+        long hi = (state.time() << 16) | state.randomHi();
+        long lo = state.randomLo();
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (lo & 31)];
+            lo = (lo >>> 5) | (hi << 59);
+            hi >>>= 5;
+        }
+        return new String(chars);
+    }
+}
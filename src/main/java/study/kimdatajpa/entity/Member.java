@@ -2,14 +2,16 @@ package study.kimdatajpa.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,6 +19,7 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@EntityListeners(MemberEntityListener.class) // 변경 이벤트 발행
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -26,10 +29,18 @@ import lombok.ToString;
     query="select m from Member m where m.username = :username"
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@Table(indexes = {
+    // username 조건 조회 + 기본 정렬(username desc)을 인덱스 순서로 처리
+    @Index(name = "idx_member_username_age", columnList = "username desc, age"),
+    // age 조건 조회 (findByAge, findByPage, totalCount, bulkAgePlus)
+    @Index(name = "idx_member_age_username", columnList = "age, username desc"),
+    @Index(name = "idx_member_team_id", columnList = "team_id"),
+    // 보관 대상 (오래 수정되지 않은 회원) 조회
+    @Index(name = "idx_member_last_modified", columnList = "last_modified_date, member_id")})
 public class Member extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @BlockIdGenerated("member") // id_block 에서 블록 단위로 예약
     @Column(name = "member_id")
     private Long id;
     private String username;
@@ -0,0 +1,38 @@
+package study.kimdatajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 오래 수정되지 않은 회원 보관 테이블 (MemberArchiver 가 member 에서 옮겨 온다)
+// member 의 id, 감사 컬럼을 그대로 유지하고 팀은 연관관계 없이 id 만 둔다. 읽기 전용.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "username", "age"})
+@Table(name = "member_archive",
+    indexes = @Index(name = "idx_member_archive_username", columnList = "username"))
+public class MemberArchive {
+
+    @Id
+    @Column(name = "member_id")
+    private Long id;
+    private String username;
+    private int age;
+    @Column(name = "team_id")
+    private Long teamId;
+
+    private LocalDateTime createdDate;
+    private LocalDateTime lastModifiedDate;
+    private String createdBy;
+    private String lastModifiedBy;
+
+    private LocalDateTime archivedAt;
+}
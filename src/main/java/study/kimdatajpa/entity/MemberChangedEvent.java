@@ -0,0 +1,21 @@
+package study.kimdatajpa.entity;
+
+// Member 엔티티 변경 이벤트 (MemberEntityListener 가 발행)
+public record MemberChangedEvent(Type type, Long memberId, String username, int age, Long teamId) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+        ARCHIVED // member_archive 로 옮김 (삭제가 아니므로 삭제 기록은 남기지 않는다)
+    }
+
+    // member 테이블에서 빠졌는지 (인덱스, 뷰 등에서는 삭제와 같게 처리)
+    public boolean removed() {
+        return type == Type.DELETED || type == Type.ARCHIVED;
+    }
+
+    static MemberChangedEvent of(Type type, Member member) {
+        Team team = member.getTeam();
+        return new MemberChangedEvent(type, member.getId(), member.getUsername(), member.getAge(),
+            team == null ? null : team.getId()); // 프록시여도 id 조회는 초기화하지 않음
+    }
+}
@@ -0,0 +1,32 @@
+package study.kimdatajpa.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Member 변경을 스프링 이벤트로 발행 (엔티티 리스너도 스프링 빈으로 주입 받는다)
+// 인덱스/캐시처럼 커밋된 변경만 반영해야 하는 쪽은 @TransactionalEventListener 로 받는다
+@Component
+@RequiredArgsConstructor
+public class MemberEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    public void postPersist(Member member) {
+        publisher.publishEvent(MemberChangedEvent.of(MemberChangedEvent.Type.CREATED, member));
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        publisher.publishEvent(MemberChangedEvent.of(MemberChangedEvent.Type.UPDATED, member));
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        publisher.publishEvent(MemberChangedEvent.of(MemberChangedEvent.Type.DELETED, member));
+    }
+}
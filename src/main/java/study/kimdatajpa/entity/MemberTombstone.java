@@ -0,0 +1,31 @@
+package study.kimdatajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+// 삭제된 회원 기록 (변경 피드에서 삭제를 알려 주기 위해 보관 기간 동안 남긴다)
+// MemberTombstoneWriter 가 삭제와 같은 트랜잭션에서 기록한다. 읽기 전용.
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "deletedAt"})
+@Table(name = "member_tombstone",
+    indexes = @Index(name = "idx_member_tombstone_deleted", columnList = "deleted_at, member_id"))
+public class MemberTombstone {
+
+    @Id
+    @Column(name = "member_id")
+    private Long id;
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+}
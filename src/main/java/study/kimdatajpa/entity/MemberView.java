@@ -0,0 +1,40 @@
+package study.kimdatajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+// 팀 이름까지 펼친 회원 조회 테이블 (team 조인 없이 읽기)
+// MemberViewWriter 가 Member/Team 변경과 같은 트랜잭션에서 갱신한다. 읽기 전용.
+// @Synchronize: 이 엔티티를 조회하기 전에 member/team 의 쓰기 지연 변경을 flush 해서 뷰에 반영되게 한다
+@Entity
+@Immutable
+@Synchronize({"member", "team"})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "username", "age", "teamName"})
+@Table(name = "member_view", indexes = {
+    @Index(name = "idx_member_view_username", columnList = "username desc"),
+    @Index(name = "idx_member_view_age", columnList = "age"), // bulkAgePlus
+    // 팀 이름 변경 시 대상 행 찾기
+    @Index(name = "idx_member_view_team_id", columnList = "team_id")})
+public class MemberView {
+
+    @Id
+    @Column(name = "member_id")
+    private Long id;
+    private String username;
+    private int age;
+    @Column(name = "team_id")
+    private Long teamId;
+    @Column(name = "team_name")
+    private String teamName;
+}
@@ -2,7 +2,7 @@ package study.kimdatajpa.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import java.util.ArrayList;
@@ -14,6 +14,7 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@EntityListeners(TeamEntityListener.class) // 이름 변경 이벤트 발행
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -21,7 +22,7 @@ import lombok.ToString;
 public class Team {
 
     @Id
-    @GeneratedValue
+    @BlockIdGenerated("team") // id_block 에서 블록 단위로 예약
     @Column(name = "team_id")
     private Long id;
     private String name;
@@ -0,0 +1,9 @@
+package study.kimdatajpa.entity;
+
+// Team 엔티티 변경 이벤트 (TeamEntityListener 가 발행)
+public record TeamChangedEvent(Type type, Long teamId, String name) {
+
+    public enum Type {
+        UPDATED, DELETED
+    }
+}
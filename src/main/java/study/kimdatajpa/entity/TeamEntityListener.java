@@ -0,0 +1,25 @@
+package study.kimdatajpa.entity;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Team 변경을 스프링 이벤트로 발행 (팀 이름을 펼쳐 둔 곳을 갱신)
+@Component
+@RequiredArgsConstructor
+public class TeamEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostUpdate
+    public void postUpdate(Team team) {
+        publisher.publishEvent(new TeamChangedEvent(TeamChangedEvent.Type.UPDATED, team.getId(), team.getName()));
+    }
+
+    @PostRemove
+    public void postRemove(Team team) {
+        publisher.publishEvent(new TeamChangedEvent(TeamChangedEvent.Type.DELETED, team.getId(), team.getName()));
+    }
+}
@@ -0,0 +1,307 @@
+package study.kimdatajpa.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.Team;
+
+// 회원 저장/나이 변경 지연 쓰기 (member.write-behind.enabled=true 일 때만)
+// 호출마다 트랜잭션을 열지 않고 큐에 쌓았다가 크기/시간 조건에 한 트랜잭션으로 모아서 JDBC 배치로 내보낸다.
+// 같은 회원의 나이 변경은 마지막 값만 남긴다. 호출 시점에는 DB 에 반영되지 않았다는 점에 주의.
+// 쓰기에 실패한 묶음은 반씩 나눠 다시 써서 문제 있는 행만 골라내고, 그 행은 max-attempts 번 실패하면 버린다(dead letter).
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "member.write-behind", name = "enabled", havingValue = "true")
+public class MemberWriteBehind {
+
+    private static final int IN_CLAUSE_SIZE = 500;
+
+    record PendingInsert(String username, int age, Long teamId, int attempts) {
+    }
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final int capacity;
+    private final int flushSize;
+    private final int jdbcBatchSize;
+    private final int maxAttempts;
+
+    private final Queue<PendingInsert> inserts = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Integer> ageUpdates = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> updateAttempts = new ConcurrentHashMap<>(); // 혼자 써도 실패한 나이 변경의 실패 횟수
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "member-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer flushTimer;
+    private final Counter coalesced;
+    private final Counter backpressure;
+    private final Counter failures;
+    private final Counter deadLetters;
+
+    public MemberWriteBehind(EntityManager em, PlatformTransactionManager transactionManager,
+        MeterRegistry registry,
+        @Value("${member.write-behind.capacity:10000}") int capacity,
+        @Value("${member.write-behind.flush-size:1000}") int flushSize,
+        @Value("${member.write-behind.max-attempts:3}") int maxAttempts,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int jdbcBatchSize) {
+        this.em = em;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.flushSize = flushSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("member.write-behind.queue.depth", depth, AtomicInteger::get)
+            .description("flush 대기 중인 저장/변경 수")
+            .register(registry);
+        this.flushTimer = Timer.builder("member.write-behind.flush")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.coalesced = registry.counter("member.write-behind.coalesced");
+        this.backpressure = registry.counter("member.write-behind.backpressure");
+        this.failures = registry.counter("member.write-behind.failures");
+        this.deadLetters = registry.counter("member.write-behind.dead-letters");
+    }
+
+    public void insert(String username, int age, Long teamId) {
+        awaitCapacity();
+        inserts.add(new PendingInsert(username, age, teamId, 0));
+        afterEnqueue(depth.incrementAndGet());
+    }
+
+    public void updateAge(Long memberId, int age) {
+        if (ageUpdates.computeIfPresent(memberId, (id, queued) -> age) != null) {
+            coalesced.increment(); // 아직 안 나간 변경을 덮어씀 (큐 크기 변화 없음)
+            return;
+        }
+        // 새 항목은 자리를 확인한 뒤에 넣는다 (거절된 변경이 큐에 남지 않도록)
+        awaitCapacity();
+        if (ageUpdates.put(memberId, age) != null) {
+            coalesced.increment(); // 그 사이 다른 스레드가 넣음
+            return;
+        }
+        updateAttempts.remove(memberId); // 새 값이므로 실패 횟수도 새로
+        afterEnqueue(depth.incrementAndGet());
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    // 큐가 가득 차면 호출한 스레드가 직접 flush (생산 속도를 flush 속도에 맞춘다)
+    // flush 가 실패해서 비워지지 않으면 더 받지 않는다
+    private void awaitCapacity() {
+        if (depth.get() < capacity) {
+            return;
+        }
+        backpressure.increment();
+        flush();
+        if (depth.get() >= capacity) {
+            throw new RejectedExecutionException("write-behind 큐가 가득 찼습니다: " + depth.get());
+        }
+    }
+
+    private void afterEnqueue(int currentDepth) {
+        if (currentDepth >= flushSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${member.write-behind.flush-interval:PT0.2S}")
+    public void scheduledFlush() {
+        if (depth.get() > 0) {
+            flush();
+        }
+    }
+
+    // 지금까지 쌓인 것을 모두 내보낸다 (동기)
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingInsert> insertBatch = new ArrayList<>();
+            for (PendingInsert insert; (insert = inserts.poll()) != null; ) {
+                insertBatch.add(insert);
+            }
+            Map<Long, Integer> updateBatch = new HashMap<>();
+            for (Long id : ageUpdates.keySet()) {
+                Integer age = ageUpdates.remove(id);
+                if (age != null) {
+                    updateBatch.put(id, age);
+                }
+            }
+            if (insertBatch.isEmpty() && updateBatch.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                writeOrSplit(insertBatch, updateBatch);
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 묶음을 한 트랜잭션으로 쓰고, 실패하면 반씩 나눠 각각 다시 쓴다 (한 행 때문에 묶음 전체가 계속 실패하지 않도록)
+    private void writeOrSplit(List<PendingInsert> insertBatch, Map<Long, Integer> updateBatch) {
+        try {
+            tx.executeWithoutResult(status -> write(insertBatch, updateBatch));
+            depth.addAndGet(-(insertBatch.size() + updateBatch.size()));
+            if (!updateAttempts.isEmpty()) {
+                updateBatch.keySet().forEach(updateAttempts::remove);
+            }
+            return;
+        } catch (CannotCreateTransactionException e) {
+            // 커넥션을 얻지 못함 (DB 장애) -> 나눠 써도 같으므로 통째로 다시 큐에
+            failures.increment();
+            requeue(insertBatch, updateBatch);
+            log.error("write-behind flush failed, requeued {} inserts / {} updates",
+                insertBatch.size(), updateBatch.size(), e);
+            return;
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (insertBatch.size() + updateBatch.size() == 1) {
+                retryOrDeadLetter(insertBatch, updateBatch, e);
+                return;
+            }
+            log.warn("write-behind flush failed, splitting {} inserts / {} updates: {}",
+                insertBatch.size(), updateBatch.size(), e.toString());
+        }
+
+        if (!insertBatch.isEmpty() && !updateBatch.isEmpty()) {
+            writeOrSplit(insertBatch, Map.of());
+            writeOrSplit(List.of(), updateBatch);
+        } else if (!insertBatch.isEmpty()) {
+            int half = insertBatch.size() / 2;
+            writeOrSplit(insertBatch.subList(0, half), Map.of());
+            writeOrSplit(insertBatch.subList(half, insertBatch.size()), Map.of());
+        } else {
+            List<Long> ids = new ArrayList<>(updateBatch.keySet());
+            int half = ids.size() / 2;
+            writeOrSplit(List.of(), subMap(updateBatch, ids.subList(0, half)));
+            writeOrSplit(List.of(), subMap(updateBatch, ids.subList(half, ids.size())));
+        }
+    }
+
+    // 혼자 써도 실패한 행: max-attempts 번까지는 다음 flush 에 다시, 그 뒤로는 버린다
+    private void retryOrDeadLetter(List<PendingInsert> insertBatch, Map<Long, Integer> updateBatch,
+        RuntimeException e) {
+        if (!insertBatch.isEmpty()) {
+            PendingInsert insert = insertBatch.get(0);
+            if (insert.attempts() + 1 < maxAttempts) {
+                requeue(List.of(new PendingInsert(insert.username(), insert.age(), insert.teamId(),
+                    insert.attempts() + 1)), Map.of());
+                return;
+            }
+            deadLetter(insert, insert.attempts() + 1, e);
+            return;
+        }
+        Map.Entry<Long, Integer> update = updateBatch.entrySet().iterator().next();
+        int attempts = updateAttempts.merge(update.getKey(), 1, Integer::sum);
+        if (attempts < maxAttempts) {
+            requeue(List.of(), updateBatch);
+            return;
+        }
+        updateAttempts.remove(update.getKey());
+        deadLetter(update, attempts, e);
+    }
+
+    private void deadLetter(Object row, int attempts, RuntimeException e) {
+        deadLetters.increment();
+        depth.decrementAndGet();
+        log.error("write-behind dropped {} after {} attempts", row, attempts, e);
+    }
+
+    private static Map<Long, Integer> subMap(Map<Long, Integer> updateBatch, List<Long> ids) {
+        Map<Long, Integer> sub = new HashMap<>();
+        ids.forEach(id -> sub.put(id, updateBatch.get(id)));
+        return sub;
+    }
+
+    // hibernate.jdbc.batch_size 단위로 flush/clear 해서 영속성 컨텍스트가 커지지 않게 한다
+    private void write(List<PendingInsert> insertBatch, Map<Long, Integer> updateBatch) {
+        int count = 0;
+        for (PendingInsert insert : insertBatch) {
+            Member member = new Member(insert.username(), insert.age());
+            if (insert.teamId() != null) {
+                member.setTeam(em.getReference(Team.class, insert.teamId())); // 팀 조회, members 컬렉션 로딩 없음
+            }
+            em.persist(member);
+            if (++count % jdbcBatchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        // 한 번에 읽고 변경 감지로 update 배치 (Auditing, 엔티티 리스너도 그대로 동작)
+        List<Long> ids = new ArrayList<>(updateBatch.keySet());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_SIZE, ids.size()));
+            em.createQuery("select m from Member m where m.id in :ids", Member.class)
+                .setParameter("ids", chunk)
+                .getResultList()
+                .forEach(member -> member.setAge(updateBatch.get(member.getId())));
+            em.flush();
+            em.clear();
+        }
+    }
+
+    // 실패한 묶음은 다시 큐에 넣는다 (그 사이 들어온 같은 회원의 변경이 더 최신이므로 덮어쓰지 않음)
+    private void requeue(List<PendingInsert> insertBatch, Map<Long, Integer> updateBatch) {
+        inserts.addAll(insertBatch);
+        updateBatch.forEach((id, age) -> {
+            if (ageUpdates.putIfAbsent(id, age) != null) {
+                depth.decrementAndGet();
+                updateAttempts.remove(id);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(Duration.ofSeconds(10).toMillis(), TimeUnit.MILLISECONDS);
+        flush();
+    }
+}
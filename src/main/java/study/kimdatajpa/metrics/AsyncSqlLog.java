@@ -0,0 +1,114 @@
+package study.kimdatajpa.metrics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 비동기 + 샘플링 SQL 로그 (sql.log.async.enabled=true, sql-log-async 프로필 참고)
+// 요청 스레드는 링 버퍼에 원본 SQL 참조만 넣고 (느린 쿼리만 바인딩 값 포함 SQL 생성), 문자열 조립/로그 출력은 백그라운드 스레드가 한다.
+// 느린 쿼리는 항상, 나머지는 sample-rate 비율만 남긴다. 백그라운드가 밀리면 오래된 것부터 버린다.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sql.log.async", name = "enabled", havingValue = "true")
+public class AsyncSqlLog extends JdbcEventListener {
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("study.kimdatajpa.sql");
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(20).toNanos();
+
+    public record LoggedStatement(long sequence, Instant at, double elapsedMs, boolean slow, boolean error,
+                                  String sql) {
+    }
+
+    private final SqlRingBuffer buffer;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final Counter sampledOut;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncSqlLog(MeterRegistry registry,
+        @Value("${sql.log.async.capacity:8192}") int capacity,
+        @Value("${sql.log.async.sample-rate:0.01}") double sampleRate,
+        @Value("${sql.log.async.slow-threshold:100ms}") Duration slowThreshold) {
+        this.buffer = new SqlRingBuffer(capacity);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+
+        this.sampledOut = registry.counter("sql.log.sampled-out");
+        FunctionCounter.builder("sql.log.recorded", buffer, SqlRingBuffer::written).register(registry);
+        FunctionCounter.builder("sql.log.dropped", buffer, SqlRingBuffer::dropped).register(registry);
+
+        this.writer = new Thread(this::writeLoop, "sql-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos,
+        SQLException e) {
+        boolean slow = timeElapsedNanos >= slowThresholdNanos;
+        if (!slow && e == null && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        buffer.add(System.currentTimeMillis(), timeElapsedNanos, slow, e != null, statementInformation.getSql(),
+            slow ? statementInformation.getSqlWithValues() : null);
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                if (buffer.drain(this::write) == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("sql log writer failed", ex);
+            }
+        }
+        buffer.drain(this::write);
+    }
+
+    private void write(SqlRingBuffer.Entry entry) {
+        if (entry.slow() || entry.error()) {
+            SQL_LOG.warn("{}{}ms {}", entry.error() ? "[error] " : "", entry.elapsedNanos() / 1_000_000.0,
+                entry.sqlWithValues() != null ? entry.sqlWithValues() : entry.sql());
+        } else if (SQL_LOG.isInfoEnabled()) {
+            SQL_LOG.info("{}ms {}", entry.elapsedNanos() / 1_000_000.0, SqlNormalizer.normalize(entry.sql()));
+        }
+    }
+
+    // 최근 limit 건 (최신이 먼저)
+    public List<LoggedStatement> recent(int limit) {
+        return buffer.recent(limit).stream()
+            .map(entry -> new LoggedStatement(entry.sequence(), Instant.ofEpochMilli(entry.timestampMillis()),
+                entry.elapsedNanos() / 1_000_000.0, entry.slow(), entry.error(),
+                entry.sqlWithValues() != null ? entry.sqlWithValues() : entry.sql()))
+            .toList();
+    }
+
+    public long dropped() {
+        return buffer.dropped();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(1000);
+    }
+}
@@ -0,0 +1,69 @@
+package study.kimdatajpa.metrics;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+// 커넥션을 풀에서 받아서 돌려줄 때까지 점유한 시간을 엔드포인트별로 기록
+// OSIV 를 켜면 뷰 렌더링/JSON 직렬화까지 커넥션을 들고 있으므로 jdbc.connection.hold 로 차이를 비교할 수 있다.
+@Component
+public class ConnectionHoldTimeListener extends JdbcEventListener {
+
+    static final String HOLD_TIMER = "jdbc.connection.hold";
+    static final String ACQUIRE_TIMER = "jdbc.connection.acquire";
+
+    private record Holding(long acquiredAt, String uri) {
+    }
+
+    private final MeterRegistry registry;
+    private final Map<ConnectionInformation, Holding> holdings = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTimeListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        if (e != null) {
+            return;
+        }
+        String uri = currentUri();
+        holdings.put(connectionInformation, new Holding(System.nanoTime(), uri));
+        timer(ACQUIRE_TIMER, uri).record(connectionInformation.getTimeToGetConnectionNs(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onAfterConnectionClose(ConnectionInformation connectionInformation, SQLException e) {
+        Holding holding = holdings.remove(connectionInformation);
+        if (holding != null) {
+            timer(HOLD_TIMER, holding.uri()).record(System.nanoTime() - holding.acquiredAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String uri) {
+        return Timer.builder(name)
+            .tag("uri", uri)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    // 요청 스레드면 매핑 패턴(/members/{id}), 아니면 (스케줄러, 배치 등) NONE
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "NONE";
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,16 @@
+package study.kimdatajpa.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+// 세션 단위 하이버네이트 Interceptor: 엔티티가 로딩될 때마다 요청별 카운터 증가
+// hibernate.session_factory.session_scoped_interceptor 로 등록 (세션마다 새로 생성)
+public class EntityLoadCountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames,
+        Type[] types) {
+        RequestEntityCounter.increment();
+        return false; // 상태를 바꾸지 않음
+    }
+}
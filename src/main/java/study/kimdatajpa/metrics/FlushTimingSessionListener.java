@@ -0,0 +1,39 @@
+package study.kimdatajpa.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionEventListener;
+
+// 세션 이벤트로 flush 시간, flush 대상 엔티티 수, 변경 감지(dirty check) 비용을 기록
+// hibernate.session.events.auto 로 등록 (세션마다 새로 생성, 하이버네이트가 만드므로 글로벌 레지스트리 사용)
+public class FlushTimingSessionListener implements SessionEventListener {
+
+    private long flushStart;
+    private long dirtyCheckStart;
+    private long dirtyCheckNanos;
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+        dirtyCheckNanos = 0;
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        Metrics.timer("jpa.flush").record(System.nanoTime() - flushStart, TimeUnit.NANOSECONDS);
+        Metrics.timer("jpa.flush.dirty-check").record(dirtyCheckNanos, TimeUnit.NANOSECONDS);
+        Metrics.summary("jpa.flush.entities").record(numberOfEntities);
+        Metrics.summary("jpa.flush.collections").record(numberOfCollections);
+    }
+
+    // 엔티티마다 호출되므로 flush 하나 동안 누적만 한다
+    @Override
+    public void dirtyCalculationStart() {
+        dirtyCheckStart = System.nanoTime();
+    }
+
+    @Override
+    public void dirtyCalculationEnd(boolean dirty) {
+        dirtyCheckNanos += System.nanoTime() - dirtyCheckStart;
+    }
+}
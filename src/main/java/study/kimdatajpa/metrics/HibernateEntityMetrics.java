@@ -0,0 +1,64 @@
+package study.kimdatajpa.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToDoubleFunction;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// 엔티티(Member, Team, Item)별, 컬렉션별 하이버네이트 통계를 Micrometer 카운터로 노출
+// 세션 팩토리 전체 통계는 hibernate-micrometer (HibernateMetrics) 가 노출한다
+@Component
+@RequiredArgsConstructor
+public class HibernateEntityMetrics implements MeterBinder {
+
+    private final EntityManagerFactory emf;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        for (String entityName : statistics.getEntityNames()) {
+            String entity = StringUtils.unqualify(entityName);
+            entityCounter(registry, statistics, entityName, entity, "loads", EntityStatistics::getLoadCount);
+            entityCounter(registry, statistics, entityName, entity, "fetches", EntityStatistics::getFetchCount);
+            entityCounter(registry, statistics, entityName, entity, "inserts", EntityStatistics::getInsertCount);
+            entityCounter(registry, statistics, entityName, entity, "updates", EntityStatistics::getUpdateCount);
+            entityCounter(registry, statistics, entityName, entity, "deletes", EntityStatistics::getDeleteCount);
+        }
+
+        for (String role : statistics.getCollectionRoleNames()) {
+            collectionCounter(registry, statistics, role, "loads", CollectionStatistics::getLoadCount);
+            collectionCounter(registry, statistics, role, "fetches", CollectionStatistics::getFetchCount);
+        }
+    }
+
+    private void entityCounter(MeterRegistry registry, Statistics statistics, String entityName,
+        String entity, String name, ToDoubleFunction<EntityStatistics> count) {
+        FunctionCounter.builder("hibernate.entity." + name, statistics,
+                s -> count.applyAsDouble(s.getEntityStatistics(entityName)))
+            .tag("entity", entity)
+            .register(registry);
+    }
+
+    private void collectionCounter(MeterRegistry registry, Statistics statistics, String role,
+        String name, ToDoubleFunction<CollectionStatistics> count) {
+        FunctionCounter.builder("hibernate.collection." + name, statistics,
+                s -> count.applyAsDouble(s.getCollectionStatistics(role)))
+            .tag("role", shortRole(role))
+            .register(registry);
+    }
+
+    // study.kimdatajpa.entity.Team.members -> Team.members
+    static String shortRole(String role) {
+        int dot = role.lastIndexOf('.');
+        return StringUtils.unqualify(role.substring(0, dot)) + role.substring(dot);
+    }
+}
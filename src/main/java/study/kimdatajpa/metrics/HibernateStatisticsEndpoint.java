@@ -0,0 +1,90 @@
+package study.kimdatajpa.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// /actuator/hibernate : 하이버네이트 통계 (전체, 엔티티별, 쿼리별) + 요청별 영속성 컨텍스트 알림
+// DELETE 로 통계를 초기화
+@Component
+@Endpoint(id = "hibernate")
+@RequiredArgsConstructor
+public class HibernateStatisticsEndpoint {
+
+    public record EntityStats(long loads, long fetches, long inserts, long updates, long deletes) {
+    }
+
+    public record QueryStats(String query, long executions, long avgMs, long maxMs, long rows) {
+    }
+
+    private final EntityManagerFactory emf;
+    private final PersistenceContextSampler persistenceContextSampler;
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = hibernateStatistics();
+
+        Map<String, Object> global = new LinkedHashMap<>();
+        global.put("enabled", statistics.isStatisticsEnabled());
+        global.put("sessionsOpened", statistics.getSessionOpenCount());
+        global.put("flushes", statistics.getFlushCount());
+        global.put("entityLoads", statistics.getEntityLoadCount());
+        global.put("entityFetches", statistics.getEntityFetchCount());
+        global.put("collectionLoads", statistics.getCollectionLoadCount());
+        global.put("collectionFetches", statistics.getCollectionFetchCount());
+        global.put("preparedStatements", statistics.getPrepareStatementCount());
+        global.put("queryExecutions", statistics.getQueryExecutionCount());
+        global.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        global.put("slowestQueryMs", statistics.getQueryExecutionMaxTime());
+
+        Map<String, EntityStats> entities = new LinkedHashMap<>();
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics s = statistics.getEntityStatistics(entityName);
+            entities.put(StringUtils.unqualify(entityName), new EntityStats(s.getLoadCount(),
+                s.getFetchCount(), s.getInsertCount(), s.getUpdateCount(), s.getDeleteCount()));
+        }
+
+        // 총 실행 시간이 큰 쿼리부터
+        List<QueryStats> queries = Arrays.stream(statistics.getQueries())
+            .map(query -> {
+                QueryStatistics s = statistics.getQueryStatistics(query);
+                return new QueryStats(query, s.getExecutionCount(), s.getExecutionAvgTime(),
+                    s.getExecutionMaxTime(), s.getExecutionRowCount());
+            })
+            .sorted(Comparator.comparingLong((QueryStats q) -> q.executions() * q.avgMs()).reversed())
+            .toList();
+
+        Map<String, Object> persistenceContext = new LinkedHashMap<>();
+        persistenceContext.put("maxManagedEntities", persistenceContextSampler.getMaxManagedEntities());
+        persistenceContext.put("alerts", persistenceContextSampler.recentAlerts());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("global", global);
+        result.put("entities", entities);
+        result.put("queries", queries);
+        result.put("persistenceContext", persistenceContext);
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        hibernateStatistics().clear();
+    }
+
+    private Statistics hibernateStatistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
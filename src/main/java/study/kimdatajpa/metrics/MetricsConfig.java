@@ -0,0 +1,17 @@
+package study.kimdatajpa.metrics;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final int MAX_SQL_TAGS = 500;
+
+    // 정규화해도 SQL 종류가 끝없이 늘어나는 경우를 막는다 (태그 값 개수 제한)
+    @Bean
+    public MeterFilter sqlTagLimitFilter() {
+        return MeterFilter.maximumAllowableTags("jdbc.query", "sql", MAX_SQL_TAGS, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,111 @@
+package study.kimdatajpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+// 요청별 영속성 컨텍스트 크기 샘플링
+// - 로딩된 엔티티 수: EntityLoadCountingInterceptor 가 센 값
+// - 관리 중인 엔티티 수: 요청에 바인딩된 EntityManager(OSIV)가 있으면 핸들러 실행 직후 측정
+// 설정한 개수를 넘으면 경고 로그와 알림 목록에 남긴다
+@Slf4j
+@Component
+public class PersistenceContextSampler implements HandlerInterceptor {
+
+    private static final String MANAGED_ATTRIBUTE = PersistenceContextSampler.class.getName() + ".MANAGED";
+    private static final int ALERT_CAPACITY = 100;
+
+    public record Alert(Instant at, String uri, long loadedEntities, Integer managedEntities) {
+    }
+
+    private final MeterRegistry registry;
+    private final EntityManagerFactory emf;
+    private final long maxManagedEntities;
+    private final Deque<Alert> alerts = new ArrayDeque<>();
+
+    public PersistenceContextSampler(MeterRegistry registry, EntityManagerFactory emf,
+        @Value("${jpa.monitoring.max-managed-entities:1000}") long maxManagedEntities) {
+        this.registry = registry;
+        this.emf = emf;
+        this.maxManagedEntities = maxManagedEntities;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestEntityCounter.start();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+        ModelAndView modelAndView) {
+        EntityManagerHolder holder =
+            (EntityManagerHolder) TransactionSynchronizationManager.getResource(emf);
+        if (holder != null) {
+            int managed = holder.getEntityManager().unwrap(Session.class).getStatistics()
+                .getEntityCount();
+            request.setAttribute(MANAGED_ATTRIBUTE, managed);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+        Object handler, Exception ex) {
+        long loaded = RequestEntityCounter.stop();
+        Integer managed = (Integer) request.getAttribute(MANAGED_ATTRIBUTE);
+        String uri = uri(request);
+
+        summary("jpa.request.entities.loaded", uri).record(loaded);
+        if (managed != null) {
+            summary("jpa.request.entities.managed", uri).record(managed);
+        }
+
+        if (Math.max(loaded, managed == null ? 0 : managed) > maxManagedEntities) {
+            log.warn("persistence context too large: uri={}, loaded={}, managed={}, limit={}",
+                uri, loaded, managed, maxManagedEntities);
+            registry.counter("jpa.request.entities.alerts", "uri", uri).increment();
+            addAlert(new Alert(Instant.now(), uri, loaded, managed));
+        }
+    }
+
+    public synchronized List<Alert> recentAlerts() {
+        return new ArrayList<>(alerts);
+    }
+
+    public long getMaxManagedEntities() {
+        return maxManagedEntities;
+    }
+
+    private synchronized void addAlert(Alert alert) {
+        if (alerts.size() == ALERT_CAPACITY) {
+            alerts.removeFirst();
+        }
+        alerts.addLast(alert);
+    }
+
+    private DistributionSummary summary(String name, String uri) {
+        return DistributionSummary.builder(name).tag("uri", uri).register(registry);
+    }
+
+    // 경로 변수가 들어간 실제 URI 대신 매핑 패턴(/members/{id})을 태그로 사용
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
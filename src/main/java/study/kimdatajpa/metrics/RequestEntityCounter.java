@@ -0,0 +1,27 @@
+package study.kimdatajpa.metrics;
+
+// 요청 하나 동안 영속성 컨텍스트로 로딩된 엔티티 수 (요청 스레드 기준)
+final class RequestEntityCounter {
+
+    private static final ThreadLocal<long[]> loaded = new ThreadLocal<>();
+
+    private RequestEntityCounter() {
+    }
+
+    static void start() {
+        loaded.set(new long[1]);
+    }
+
+    static void increment() {
+        long[] count = loaded.get();
+        if (count != null) { // 요청 밖(배치 등)에서는 세지 않음
+            count[0]++;
+        }
+    }
+
+    static long stop() {
+        long[] count = loaded.get();
+        loaded.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,36 @@
+package study.kimdatajpa.metrics;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 느린 쿼리 최근 N 건 (바인딩 파라미터 포함)
+@Component
+public class SlowQueryLog {
+
+    public record SlowQuery(Instant at, double elapsedMs, String sql, String sqlWithValues) {
+    }
+
+    private final int capacity;
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+
+    public SlowQueryLog(@Value("${sql.metrics.slow-query-capacity:100}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    // 느린 쿼리만 들어오므로 단순 동기화로 충분하다
+    public synchronized void add(SlowQuery query) {
+        if (queries.size() == capacity) {
+            queries.removeFirst();
+        }
+        queries.addLast(query);
+    }
+
+    public synchronized List<SlowQuery> recent() {
+        return new ArrayList<>(queries);
+    }
+}
@@ -0,0 +1,28 @@
+package study.kimdatajpa.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// /actuator/sqllog?limit=N : 비동기 SQL 로그 링 버퍼의 최근 N 건
+@Component
+@ConditionalOnProperty(prefix = "sql.log.async", name = "enabled", havingValue = "true")
+@Endpoint(id = "sqllog")
+@RequiredArgsConstructor
+public class SqlLogEndpoint {
+
+    private final AsyncSqlLog asyncSqlLog;
+
+    @ReadOperation
+    public Map<String, Object> sqlLog(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("dropped", asyncSqlLog.dropped());
+        result.put("statements", asyncSqlLog.recent(limit == null ? 100 : Math.max(1, limit)));
+        return result;
+    }
+}
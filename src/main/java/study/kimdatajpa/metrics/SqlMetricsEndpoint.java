@@ -0,0 +1,73 @@
+package study.kimdatajpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// /actuator/sqlmetrics : SQL 별, 리포지토리 메서드 별 지연 시간 분위수와 느린 쿼리 목록
+@Component
+@Endpoint(id = "sqlmetrics")
+@RequiredArgsConstructor
+public class SqlMetricsEndpoint {
+
+    // 스프링 부트가 기록하는 리포지토리 메서드 호출 Timer
+    private static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+
+    public record LatencyStats(String name, long count, double meanMs, double maxMs,
+                               Map<String, Double> percentilesMs, Double meanRows, Double maxRows) {
+    }
+
+    private final MeterRegistry registry;
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public Map<String, Object> sqlMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", statements());
+        result.put("repositoryMethods", repositoryMethods());
+        result.put("slowQueries", slowQueryLog.recent());
+        return result;
+    }
+
+    private List<LatencyStats> statements() {
+        return registry.find(SqlMetricsListener.QUERY_TIMER).timers().stream()
+            .map(timer -> {
+                String sql = timer.getId().getTag("sql");
+                DistributionSummary rows = registry.find(SqlMetricsListener.QUERY_ROWS)
+                    .tag("sql", sql).summary();
+                return stats("[" + timer.getId().getTag("outcome") + "] " + sql, timer, rows);
+            })
+            .sorted(Comparator.comparingDouble(LatencyStats::maxMs).reversed())
+            .toList();
+    }
+
+    private List<LatencyStats> repositoryMethods() {
+        return registry.find(REPOSITORY_TIMER).timers().stream()
+            .map(timer -> stats(timer.getId().getTag("repository") + "."
+                + timer.getId().getTag("method") + " [" + timer.getId().getTag("state") + "]", timer, null))
+            .sorted(Comparator.comparingDouble(LatencyStats::maxMs).reversed())
+            .toList();
+    }
+
+    private LatencyStats stats(String name, Timer timer, DistributionSummary rows) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put("p" + value.percentile() * 100, value.value(TimeUnit.MILLISECONDS));
+        }
+        return new LatencyStats(name, snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS),
+            snapshot.max(TimeUnit.MILLISECONDS), percentiles,
+            rows == null ? null : rows.mean(), rows == null ? null : rows.max());
+    }
+}
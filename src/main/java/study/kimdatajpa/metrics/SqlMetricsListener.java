@@ -0,0 +1,86 @@
+package study.kimdatajpa.metrics;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.kimdatajpa.metrics.SlowQueryLog.SlowQuery;
+
+// p6spy 이벤트로 정규화된 SQL 별 실행 시간 히스토그램, 조회 건수, fetch size 를 기록
+// p6spy 스프링 부트 스타터가 JdbcEventListener 빈을 자동으로 등록한다
+@Slf4j
+@Component
+public class SqlMetricsListener extends JdbcEventListener {
+
+    static final String QUERY_TIMER = "jdbc.query";
+    static final String QUERY_ROWS = "jdbc.query.rows";
+    static final String QUERY_FETCH_SIZE = "jdbc.query.fetch-size";
+
+    private final MeterRegistry registry;
+    private final SlowQueryLog slowQueryLog;
+    private final long slowQueryThresholdNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>(); // 정규화 SQL + 결과 -> Timer
+
+    public SqlMetricsListener(MeterRegistry registry, SlowQueryLog slowQueryLog,
+        @Value("${sql.metrics.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        this.registry = registry;
+        this.slowQueryLog = slowQueryLog;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos,
+        SQLException e) {
+        String sql = SqlNormalizer.normalize(statementInformation.getSql());
+        String outcome = e == null ? "success" : "error";
+        timers.computeIfAbsent(outcome + ":" + sql, key -> Timer.builder(QUERY_TIMER)
+                .tag("sql", sql)
+                .tag("outcome", outcome)
+                .register(registry))
+            .record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (timeElapsedNanos >= slowQueryThresholdNanos) {
+            // 느린 쿼리만 바인딩 파라미터가 들어간 SQL 을 만든다
+            String sqlWithValues = statementInformation.getSqlWithValues();
+            double elapsedMs = timeElapsedNanos / 1_000_000.0;
+            log.warn("slow query {}ms: {}", elapsedMs, sqlWithValues);
+            slowQueryLog.add(new SlowQuery(Instant.now(), elapsedMs, sql, sqlWithValues));
+        }
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+        boolean hasNext, SQLException e) {
+        // 첫 번째 행에서 한 번만 fetch size 를 기록
+        if (hasNext && resultSetInformation.getCurrRow() == 0) {
+            try {
+                summary(QUERY_FETCH_SIZE, resultSetInformation)
+                    .record(resultSetInformation.getResultSet().getFetchSize());
+            } catch (SQLException ignored) {
+                // fetch size 를 못 읽어도 쿼리에는 영향 없음
+            }
+        }
+    }
+
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        summary(QUERY_ROWS, resultSetInformation).record(resultSetInformation.getCurrRow() + 1);
+    }
+
+    private DistributionSummary summary(String name, ResultSetInformation resultSetInformation) {
+        return DistributionSummary.builder(name)
+            .tag("sql", SqlNormalizer.normalize(resultSetInformation.getStatementInformation().getSql()))
+            .register(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package study.kimdatajpa.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// SQL 정규화: 리터럴과 in 절 길이를 지워서 같은 모양의 쿼리를 하나의 메트릭으로 묶는다
+public class SqlNormalizer {
+
+    private static final int MAX_LENGTH = 500;
+    private static final int MAX_CACHED = 1_000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    // 같은 SQL 이 반복되므로 정규식 비용을 한 번만 낸다 (개수 제한)
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    private SqlNormalizer() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = cache.get(sql);
+        if (normalized == null) {
+            normalized = doNormalize(sql);
+            if (cache.size() < MAX_CACHED) {
+                cache.put(sql, normalized);
+            }
+        }
+        return normalized;
+    }
+
+    private static String doNormalize(String sql) {
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        s = STRING_LITERAL.matcher(s).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?)");
+        return s.length() > MAX_LENGTH ? s.substring(0, MAX_LENGTH) : s;
+    }
+}
@@ -0,0 +1,83 @@
+package study.kimdatajpa.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// 잠금 없는 고정 크기 링 버퍼 (생산자 여럿, 소비자 하나)
+// 생산자는 순번만 증가시키고 칸에 덮어쓴다. 소비자가 따라오지 못하면 덮어쓴 만큼 버려진 것으로 센다.
+class SqlRingBuffer {
+
+    record Entry(long sequence, long timestampMillis, long elapsedNanos, boolean slow, boolean error,
+                 String sql, String sqlWithValues) {
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong head = new AtomicLong(); // 다음에 쓸 순번
+    private long cursor; // 소비자만 사용 (다음에 읽을 순번)
+    private final AtomicLong dropped = new AtomicLong();
+
+    SqlRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(long timestampMillis, long elapsedNanos, boolean slow, boolean error, String sql,
+        String sqlWithValues) {
+        long sequence = head.getAndIncrement();
+        slots.lazySet((int) (sequence & mask),
+            new Entry(sequence, timestampMillis, elapsedNanos, slow, error, sql, sqlWithValues));
+    }
+
+    // 소비자 스레드 전용: 쓰기가 끝난 순서대로 넘긴다
+    int drain(Consumer<Entry> consumer) {
+        long oldest = head.get() - slots.length();
+        if (cursor < oldest) {
+            dropped.addAndGet(oldest - cursor); // 덮어써져서 읽지 못함
+            cursor = oldest;
+        }
+        int count = 0;
+        while (true) {
+            Entry entry = slots.get((int) (cursor & mask));
+            if (entry == null || entry.sequence() < cursor) {
+                return count; // 아직 쓰는 중이거나 더 없음
+            }
+            if (entry.sequence() > cursor) { // 읽는 사이 한 바퀴 돌아 덮어씀
+                dropped.addAndGet(entry.sequence() - cursor);
+                cursor = entry.sequence();
+                continue;
+            }
+            consumer.accept(entry);
+            cursor++;
+            count++;
+        }
+    }
+
+    // 최근 limit 건 (최신이 먼저)
+    List<Entry> recent(int limit) {
+        long last = head.get() - 1;
+        List<Entry> result = new ArrayList<>(Math.min(limit, slots.length()));
+        for (long sequence = last; sequence >= 0 && sequence > last - slots.length() && result.size() < limit;
+            sequence--) {
+            Entry entry = slots.get((int) (sequence & mask));
+            if (entry != null && entry.sequence() == sequence) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    long written() {
+        return head.get();
+    }
+}
@@ -0,0 +1,21 @@
+package study.kimdatajpa.readonly;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 리포지토리의 조회 메서드(find/get/read/query/search/stream/count/exists...)를 읽기 전용으로 실행
+// - 트랜잭션이 없으면 readOnly 트랜잭션을 시작 (읽기 전용 엔티티, flush 모드 MANUAL, 읽기 전용 JDBC 커넥션)
+// - 쓰기 트랜잭션 안에서는 적용하지 않는다 (조회한 엔티티를 고치면 반영됨, 읽기 전용이 필요하면 ReadOnlyScope 로 감싼다)
+// 리포지토리 인터페이스에 붙이면 같은 패키지에서 선언한 조회 메서드 전체에 적용된다.
+// 상속받은 findById 같은 CRUD 메서드(다시 선언한 findAll() 포함), @Modifying, @Lock 메서드는 수정용 조회로 보고 제외한다.
+// 조회한 엔티티를 고쳐야 하는 메서드에는 @ReadOnlyQueries(false)
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ReadOnlyQueries {
+
+    boolean value() default true;
+}
@@ -0,0 +1,38 @@
+package study.kimdatajpa.readonly;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class ReadOnlyQueryConfig {
+
+    // @ReadOnlyQueries 리포지토리 프록시에 인터셉터 추가 (jpa.read-only-queries.enabled=false 면 끔, 비교 측정용)
+    @Bean
+    public static BeanPostProcessor readOnlyQueryRepositoryPostProcessor(ObjectProvider<ReadOnlyScope> scope,
+        Environment environment) {
+        boolean enabled = environment.getProperty("jpa.read-only-queries.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> {
+                            Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+                            ReadOnlyQueries config =
+                                AnnotationUtils.findAnnotation(repositoryInterface, ReadOnlyQueries.class);
+                            if (config != null && config.value()) {
+                                proxyFactory.addAdvice(new ReadOnlyQueryInterceptor(repositoryInterface, scope));
+                            }
+                        }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package study.kimdatajpa.readonly;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+// @ReadOnlyQueries 리포지토리 프록시에 붙어 조회 메서드를 ReadOnlyScope 안에서 실행한다
+// 쓰기 트랜잭션 안에서는 그대로 실행한다 (그 트랜잭션에서 조회한 엔티티를 고치면 반영되어야 하므로)
+class ReadOnlyQueryInterceptor implements MethodInterceptor {
+
+    private static final Pattern QUERY_METHOD = Pattern.compile("^(find|read|get|query|search|stream|count|exists)");
+
+    private final Class<?> repositoryInterface;
+    private final ObjectProvider<ReadOnlyScope> scope;
+    private final Map<Method, Boolean> readOnly = new ConcurrentHashMap<>();
+
+    ReadOnlyQueryInterceptor(Class<?> repositoryInterface, ObjectProvider<ReadOnlyScope> scope) {
+        this.repositoryInterface = repositoryInterface;
+        this.scope = scope;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!readOnly.computeIfAbsent(invocation.getMethod(), this::isReadOnly)
+            || (TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return invocation.proceed();
+        }
+        try {
+            return scope.getObject().call(() -> {
+                try {
+                    return invocation.proceed();
+                } catch (Throwable e) {
+                    throw new InvocationFailure(e);
+                }
+            });
+        } catch (InvocationFailure e) {
+            throw e.getCause(); // 리포지토리 예외를 그대로
+        }
+    }
+
+    boolean isReadOnly(Method method) {
+        ReadOnlyQueries config = AnnotatedElementUtils.findMergedAnnotation(method, ReadOnlyQueries.class);
+        if (config != null) {
+            return config.value();
+        }
+        return method.getDeclaringClass().getPackage() == repositoryInterface.getPackage()
+            && QUERY_METHOD.matcher(method.getName()).find()
+            && !method.isAnnotationPresent(Modifying.class)
+            && !method.isAnnotationPresent(Lock.class)
+            && !overridesCrudMethod(method);
+    }
+
+    // findAll() 처럼 스프링 데이터 인터페이스의 메서드를 다시 선언한 것은 상속받은 CRUD 메서드로 본다
+    private boolean overridesCrudMethod(Method method) {
+        return ClassUtils.getAllInterfacesForClassAsSet(repositoryInterface).stream()
+            .filter(type -> type.getName().startsWith("org.springframework.data."))
+            .flatMap(type -> Arrays.stream(type.getMethods()))
+            .anyMatch(crud -> crud.getName().equals(method.getName())
+                && Arrays.equals(crud.getParameterTypes(), method.getParameterTypes()));
+    }
+
+    private static class InvocationFailure extends RuntimeException {
+
+        InvocationFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package study.kimdatajpa.readonly;
+
+import jakarta.persistence.EntityManager;
+import java.util.function.Supplier;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 호출 범위 읽기 전용 모드
+// readOnlyScope.call(() -> memberRepository.findByAge(...)) 처럼 감싼 안에서 로딩한 엔티티는 읽기 전용이다.
+@Component
+public class ReadOnlyScope {
+
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+
+    public ReadOnlyScope(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public <T> T call(Supplier<T> work) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 스프링이 세션 기본 읽기 전용, flush 모드 MANUAL, Connection.setReadOnly(true) 를 적용
+            return readOnlyTx.execute(status -> work.get());
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return work.get();
+        }
+        // 쓰기 트랜잭션: 커넥션은 바꿀 수 없고, 쓰기 지연된 변경이 조회에 보여야 하므로 flush 모드도 그대로 둔다
+        Session session = em.unwrap(Session.class);
+        boolean previous = session.isDefaultReadOnly();
+        session.setDefaultReadOnly(true);
+        try {
+            return work.get();
+        } finally {
+            session.setDefaultReadOnly(previous);
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
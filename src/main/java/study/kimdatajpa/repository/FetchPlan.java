@@ -0,0 +1,52 @@
+package study.kimdatajpa.repository;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.util.StringUtils;
+
+// 함께 읽어 올 연관관계 경로 (클라이언트 ?expand=team 으로 선택)
+// 같은 경로 조합(shape)이면 같은 엔티티 그래프를 재사용한다 (FetchPlanGraphs)
+public record FetchPlan(Set<String> paths) {
+
+    public static final FetchPlan NONE = new FetchPlan(Set.of());
+
+    public FetchPlan {
+        paths = Set.copyOf(paths);
+    }
+
+    public static FetchPlan of(String... paths) {
+        return new FetchPlan(Set.of(paths));
+    }
+
+    // "team" 같은 콤마 목록을 허용된 경로로만 파싱
+    public static FetchPlan parse(String expand, Set<String> allowed) {
+        if (!StringUtils.hasText(expand)) {
+            return NONE;
+        }
+        Set<String> paths = Arrays.stream(expand.split(","))
+            .map(String::trim)
+            .filter(StringUtils::hasText)
+            .collect(Collectors.toSet());
+        for (String path : paths) {
+            if (!allowed.contains(path)) {
+                throw new IllegalArgumentException("허용되지 않은 expand 경로: " + path);
+            }
+        }
+        return new FetchPlan(paths);
+    }
+
+    public boolean includes(String path) {
+        return paths.contains(path);
+    }
+
+    public boolean isEmpty() {
+        return paths.isEmpty();
+    }
+
+    // 경로 순서와 무관한 이름 (엔티티 그래프 이름에 사용)
+    String shape() {
+        return String.join(",", new TreeSet<>(paths));
+    }
+}
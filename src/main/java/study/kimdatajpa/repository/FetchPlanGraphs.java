@@ -0,0 +1,26 @@
+package study.kimdatajpa.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// FetchPlan 별 엔티티 그래프 캐시
+// 처음 보는 shape 만 그래프를 만들어 EntityManagerFactory 에 이름 있는 그래프로 등록하고 (하이버네이트가 불변 복사본으로 보관),
+// 이후에는 이름으로 꺼내 쓴다. 요청마다 그래프를 만들고 속성을 검증하는 비용이 없다.
+class FetchPlanGraphs {
+
+    static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final Map<String, String> names = new ConcurrentHashMap<>(); // 엔티티 + shape -> 그래프 이름
+
+    <T> EntityGraph<?> graph(EntityManager em, Class<T> type, FetchPlan plan) {
+        String name = names.computeIfAbsent(type.getSimpleName() + ".fetch(" + plan.shape() + ")", key -> {
+            EntityGraph<T> graph = em.createEntityGraph(type);
+            graph.addAttributeNodes(plan.paths().toArray(String[]::new));
+            em.getEntityManagerFactory().addNamedEntityGraph(key, graph);
+            return key;
+        });
+        return em.getEntityGraph(name);
+    }
+}
@@ -0,0 +1,16 @@
+package study.kimdatajpa.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+import study.kimdatajpa.entity.Member;
+
+// 배치용 조회 (StatelessSession, 메모리 사용량 일정)
+// 조회한 엔티티는 영속 상태가 아니다. 변경해도 반영되지 않고 지연 로딩도 할 수 없다.
+public interface MemberBatchRepository {
+
+    // team 은 초기화되지 않은 프록시 (id 만 사용 가능)
+    void forEachChunk(int size, Consumer<List<Member>> consumer);
+
+    // team 을 페치 조인으로 함께 조회
+    void forEachChunkWithTeam(int size, Consumer<List<Member>> consumer);
+}
@@ -0,0 +1,28 @@
+package study.kimdatajpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Consumer;
+import study.kimdatajpa.entity.Member;
+
+public class MemberBatchRepositoryImpl implements MemberBatchRepository {
+
+    private final StatelessChunkReader reader;
+
+    public MemberBatchRepositoryImpl(EntityManagerFactory emf) {
+        this.reader = new StatelessChunkReader(emf);
+    }
+
+    @Override
+    public void forEachChunk(int size, Consumer<List<Member>> consumer) {
+        reader.forEachChunk("select m from Member m where m.id > :lastId order by m.id",
+            Member.class, Member::getId, size, consumer);
+    }
+
+    @Override
+    public void forEachChunkWithTeam(int size, Consumer<List<Member>> consumer) {
+        reader.forEachChunk("select m from Member m left join fetch m.team " +
+                "where m.id > :lastId order by m.id",
+            Member.class, Member::getId, size, consumer);
+    }
+}
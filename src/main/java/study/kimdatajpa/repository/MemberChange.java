@@ -0,0 +1,8 @@
+package study.kimdatajpa.repository;
+
+import java.time.LocalDateTime;
+
+// 변경 피드 항목 (deleted 면 id 와 changedAt 만 있다)
+public record MemberChange(boolean deleted, Long id, String username, Integer age, Long teamId,
+                           LocalDateTime changedAt) {
+}
@@ -2,6 +2,7 @@ package study.kimdatajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
@@ -74,9 +75,14 @@ public class MemberJpaRepository {
 
     // 순수 JPA 를 사용한 벌크성 수정 쿼리
     public int bulkAgePlus(int age) {
-        return em.createQuery(
-                "update Member m set m.age = m.age + 1 where m.age >= :age")
+        int updated = em.createQuery( // auditing 대신 수정 시각 직접 갱신
+                "update Member m set m.age = m.age + 1, m.lastModifiedDate = :now where m.age >= :age")
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("age", age)
+            .executeUpdate();
+        em.createNativeQuery("update member_view set age = age + 1 where age >= :age") // 펼쳐 둔 조회 테이블
             .setParameter("age", age)
             .executeUpdate();
+        return updated;
     }
 }
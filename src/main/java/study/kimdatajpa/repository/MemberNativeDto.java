@@ -0,0 +1,5 @@
+package study.kimdatajpa.repository;
+
+// 네이티브 쿼리 결과를 바로 담는 레코드 (프록시 없는 Projection)
+public record MemberNativeDto(Long id, String username, String teamName) {
+}
@@ -0,0 +1,5 @@
+package study.kimdatajpa.repository;
+
+// 현재 테이블(member)과 보관 테이블(member_archive) 어느 쪽에서 읽었든 같은 모양으로 돌려주는 조회 결과
+public record MemberRecord(Long id, String username, int age, Long teamId, boolean archived) {
+}
@@ -11,15 +11,16 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
-import study.kimdatajpa.dto.MemberDto;
+import study.kimdatajpa.cache.QueryResultCache;
 import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.readonly.ReadOnlyQueries;
 
+@ReadOnlyQueries // 조회 메서드는 읽기 전용 엔티티로 (상속받은 findById 는 수정용 조회로 남는다)
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom,
-    JpaSpecificationExecutor<Member> {
+    MemberBatchRepository, JpaSpecificationExecutor<Member> {
 
     // 스프링 데이터 JPA
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
@@ -33,13 +34,15 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findUser(@Param("username") String username, @Param("age") int age);
 
     // 단순히 값 하나를 조회
+    @QueryResultCache(tables = "member") // 리포트 화면에서 반복 호출 -> member 쓰기 시 무효화
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
-    // DTO 로 직접 조회
-    @Query("select new study.kimdatajpa.dto.MemberDto(m.id, m.username, t.name) " +
-        "from Member m join m.team t")
-    List<MemberDto> findMemberDto();
+    // DTO 로 직접 조회 (팀 이름을 펼쳐 둔 member_view 에서 읽어 team 조인 없음, 팀 있는 회원만)
+    @QueryResultCache(tables = "member_view") // 불변 record 라 캐시된 결과를 공유해도 된다
+    @Query("select new study.kimdatajpa.repository.MemberViewDto(v.id, v.username, v.teamName) " +
+        "from MemberView v where v.teamId is not null")
+    List<MemberViewDto> findMemberDto();
 
     // 컬렉션 파라미터 바인딩 (Collection 타입으로 in절 지원)
     @Query("select m from Member m where m.username in :names")
@@ -57,11 +60,6 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
         countQuery = "select count(m.username) from Member m") // count 쿼리 분리 (성능 최적화)
     Page<Member> findByAge(int age, Pageable pageable);
 
-    // 스프링 데이터 JPA 를 사용한 벌크성 수정 쿼리
-    @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
-
     // JPQL 페치 조인
     @Query("select m from Member m left join fetch m.team")
     List<Member> findMemberFetchJoin();
@@ -105,10 +103,9 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query(value = "select * from member where username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
 
-    // Native Query + Projections 활용
-    @Query(value = "select m.member_id as id, m.username, t.name as teamName " +
-        "from member m left join team t on m.team_id = t.team_id",
-        countQuery = "select count(*) from member",
+    // Native Query + Projections 활용 (member_view 에서 읽어 team 조인 없음)
+    @Query(value = "select v.member_id as id, v.username, v.team_name as teamName from member_view v",
+        countQuery = "select count(*) from member_view",
         nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
 }
\ No newline at end of file
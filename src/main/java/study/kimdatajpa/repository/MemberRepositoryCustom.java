@@ -1,8 +1,38 @@
 package study.kimdatajpa.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import study.kimdatajpa.dto.MemberDto;
 import study.kimdatajpa.entity.Member;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
-}
\ No newline at end of file
+
+    // 엔티티 없이 DTO 로 바로 페이징 조회 (영속성 컨텍스트를 거치지 않음)
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // plan 에 team 이 있을 때만 team 을 조인해서 팀 이름까지 (없으면 member 만 읽는 컬럼 프로젝션)
+    Page<MemberDto> findMemberDtoPage(FetchPlan plan, Pageable pageable);
+
+    // 명세 조회에 FetchPlan 의 엔티티 그래프 적용 (expand 한 연관관계는 한 번에, 나머지는 지연 로딩 그대로)
+    Page<Member> findAll(Specification<Member> spec, FetchPlan plan, Pageable pageable);
+
+    // 네이티브 쿼리 결과를 레코드로 바로 매핑 (findByNativeProjection 의 프록시 없는 버전)
+    Page<MemberNativeDto> findByNativeRecord(Pageable pageable);
+
+    // id 로 조회하고 없으면 보관 테이블에서 찾는다
+    Optional<MemberRecord> findRecordById(Long id);
+
+    // 보관 테이블은 요청한 경우에만 함께 조회
+    List<MemberRecord> findRecordsByUsername(String username, boolean includeArchive);
+
+    // (lastModifiedDate, id) 가 (after, afterId) 보다 뒤이고 upTo 이전인 변경과 삭제를 그 순서로 limit 건
+    List<MemberChange> findChanges(LocalDateTime after, Long afterId, LocalDateTime upTo, int limit);
+
+    // 벌크성 수정 쿼리 (member_view 도 같은 트랜잭션에서 갱신, 끝나면 영속성 컨텍스트 초기화)
+    int bulkAgePlus(int age);
+}
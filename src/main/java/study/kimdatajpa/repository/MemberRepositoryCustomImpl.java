@@ -1,18 +1,231 @@
 package study.kimdatajpa.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.dto.MemberDto;
 import study.kimdatajpa.entity.Member;
 
 @RequiredArgsConstructor
-public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
+public class MemberRepositoryCustomImpl implements MemberRepositoryCustom, SmartInitializingSingleton {
+
+    // MemberDto 정렬에 허용되는 프로퍼티와 JPQL 경로
+    private static final SortWhitelist MEMBER_DTO_SORT = new SortWhitelist(Map.of(
+        "id", "m.id",
+        "username", "m.username",
+        "age", "m.age",
+        "teamName", "t.name"));
+
+    // Criteria 검색 정렬 (프로퍼티 이름 -> Member 경로, team.name 은 QueryUtils 가 left join)
+    private static final SortWhitelist MEMBER_SORT = new SortWhitelist(Map.of(
+        "id", "id",
+        "username", "username",
+        "age", "age",
+        "teamName", "team.name"));
+
+    // 네이티브 쿼리 + 레코드 매핑 (별칭 = 레코드 컴포넌트 이름)
+    private static final NativeRecordMapper<MemberNativeDto> MEMBER_NATIVE = new NativeRecordMapper<>(
+        MemberNativeDto.class,
+        "select m.member_id as id, m.username as username, t.name as teamName " +
+            "from member m left join team t on m.team_id = t.team_id");
+    private static final SortWhitelist MEMBER_NATIVE_SORT = new SortWhitelist(Map.of(
+        "id", "m.member_id",
+        "username", "m.username",
+        "age", "m.age",
+        "teamName", "t.name"));
+
+    private static final String MEMBER_RECORD =
+        "select new study.kimdatajpa.repository.MemberRecord(m.id, m.username, m.age, m.team.id, false) " +
+            "from Member m";
+    private static final String ARCHIVE_RECORD =
+        "select new study.kimdatajpa.repository.MemberRecord(a.id, a.username, a.age, a.teamId, true) " +
+            "from MemberArchive a";
+
+    // 키셋 조건: 첫 컬럼 범위로 인덱스(idx_member_last_modified, idx_member_tombstone_deleted)를 타고 그 순서로 읽는다
+    private static final String MEMBER_CHANGES =
+        "select new study.kimdatajpa.repository.MemberChange(false, m.id, m.username, m.age, m.team.id, " +
+            "m.lastModifiedDate) from Member m " +
+            "where m.lastModifiedDate >= :after and (m.lastModifiedDate > :after or m.id > :afterId) " +
+            "and m.lastModifiedDate <= :upTo order by m.lastModifiedDate, m.id";
+    private static final String TOMBSTONE_CHANGES =
+        "select new study.kimdatajpa.repository.MemberChange(true, t.id, null, null, null, t.deletedAt) " +
+            "from MemberTombstone t " +
+            "where t.deletedAt >= :after and (t.deletedAt > :after or t.id > :afterId) " +
+            "and t.deletedAt <= :upTo order by t.deletedAt, t.id";
+    private static final Comparator<MemberChange> CHANGE_ORDER =
+        Comparator.comparing(MemberChange::changedAt).thenComparing(MemberChange::id);
 
     private final EntityManager em;
+    private final DataSource dataSource;
+    private final FetchPlanGraphs graphs = new FetchPlanGraphs();
+
+    // 기동 시 네이티브 쿼리 별칭과 레코드 컴포넌트를 한 번 검증
+    @Override
+    public void afterSingletonsInstantiated() {
+        MEMBER_NATIVE.validate(dataSource);
+    }
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
             .getResultList();
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable) {
+        return findMemberDtoPage(FetchPlan.of("team"), pageable);
+    }
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(FetchPlan plan, Pageable pageable) {
+        // new 명령어로 필요한 컬럼만 DTO 에 담는다 -> 엔티티가 영속성 컨텍스트에 올라가지 않음
+        // teamName 으로 정렬하면 expand 없이도 team 을 조인한다 (left join 이라 행 수는 같다)
+        boolean joinTeam = plan.includes("team") || pageable.getSort().getOrderFor("teamName") != null;
+        String jpql = (plan.includes("team")
+            ? "select new study.kimdatajpa.dto.MemberDto(m.id, m.username, t.name) "
+            : "select new study.kimdatajpa.dto.MemberDto(m.id, m.username) ")
+            + (joinTeam ? "from Member m left join m.team t" : "from Member m")
+            + MEMBER_DTO_SORT.orderBy(pageable.getSort());
+        TypedQuery<MemberDto> query = em.createQuery(jpql, MemberDto.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        }
+        List<MemberDto> content = query.getResultList();
+
+        // 첫 페이지/마지막 페이지에서 count 쿼리가 필요 없으면 생략
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> em.createQuery("select count(m) from Member m", Long.class).getSingleResult());
+    }
+
+    @Override
+    public Page<Member> findAll(Specification<Member> spec, FetchPlan plan, Pageable pageable) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Member> criteria = builder.createQuery(Member.class);
+        Root<Member> root = criteria.from(Member.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.select(root).orderBy(QueryUtils.toOrders(MEMBER_SORT.translate(pageable.getSort()), root, builder));
+
+        TypedQuery<Member> query = em.createQuery(criteria);
+        if (!plan.isEmpty()) {
+            query.setHint(FetchPlanGraphs.FETCH_GRAPH_HINT, graphs.graph(em, Member.class, plan));
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        }
+        List<Member> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = builder.createQuery(Long.class);
+            Root<Member> countRoot = count.from(Member.class);
+            Predicate countPredicate = spec == null ? null : spec.toPredicate(countRoot, count, builder);
+            if (countPredicate != null) {
+                count.where(countPredicate);
+            }
+            return em.createQuery(count.select(builder.count(countRoot))).getSingleResult();
+        });
+    }
+
+    @Override
+    public Page<MemberNativeDto> findByNativeRecord(Pageable pageable) {
+        MEMBER_NATIVE.validate(dataSource); // 지연 초기화로 기동 시 검증을 못 했을 때만 실제로 검증
+        Query query = em.createNativeQuery(
+            MEMBER_NATIVE.getSql() + MEMBER_NATIVE_SORT.orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        }
+        List<MemberNativeDto> content = MEMBER_NATIVE.map(query.getResultList());
+
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> ((Number) em.createNativeQuery("select count(*) from member").getSingleResult())
+                .longValue());
+    }
+
+    @Override
+    public Optional<MemberRecord> findRecordById(Long id) {
+        List<MemberRecord> hot = em.createQuery(MEMBER_RECORD + " where m.id = :id", MemberRecord.class)
+            .setParameter("id", id)
+            .getResultList();
+        if (!hot.isEmpty()) {
+            return Optional.of(hot.get(0));
+        }
+        return em.createQuery(ARCHIVE_RECORD + " where a.id = :id", MemberRecord.class)
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst();
+    }
+
+    @Override
+    public List<MemberRecord> findRecordsByUsername(String username, boolean includeArchive) {
+        List<MemberRecord> result = new ArrayList<>(
+            em.createQuery(MEMBER_RECORD + " where m.username = :username", MemberRecord.class)
+                .setParameter("username", username)
+                .getResultList());
+        if (includeArchive) {
+            result.addAll(em.createQuery(ARCHIVE_RECORD + " where a.username = :username", MemberRecord.class)
+                .setParameter("username", username)
+                .getResultList());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age) {
+        // 벌크 쿼리는 auditing 을 거치지 않으므로 수정 시각을 직접 갱신 (변경 피드에 나오도록)
+        int updated = em.createQuery("update Member m set m.age = m.age + 1, m.lastModifiedDate = :now " +
+                "where m.age >= :age")
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("age", age)
+            .executeUpdate();
+        // 엔티티 이벤트를 거치지 않으므로 member_view 도 같은 조건으로 갱신
+        em.createNativeQuery("update member_view set age = age + 1 where age >= :age")
+            .setParameter("age", age)
+            .executeUpdate();
+        em.clear(); // @Modifying(clearAutomatically = true) 와 같이 오래된 엔티티를 남기지 않는다
+        return updated;
+    }
+
+    @Override
+    public List<MemberChange> findChanges(LocalDateTime after, Long afterId, LocalDateTime upTo, int limit) {
+        List<MemberChange> changes = new ArrayList<>(changes(MEMBER_CHANGES, after, afterId, upTo, limit));
+        changes.addAll(changes(TOMBSTONE_CHANGES, after, afterId, upTo, limit));
+        // 각각 정렬된 두 목록을 합쳐 앞에서부터 limit 건 (다음 키셋은 마지막 항목)
+        changes.sort(CHANGE_ORDER);
+        return changes.size() > limit ? changes.subList(0, limit) : changes;
+    }
+
+    private List<MemberChange> changes(String jpql, LocalDateTime after, Long afterId, LocalDateTime upTo,
+        int limit) {
+        return em.createQuery(jpql, MemberChange.class)
+            .setParameter("after", after)
+            .setParameter("afterId", afterId)
+            .setParameter("upTo", upTo)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
@@ -0,0 +1,5 @@
+package study.kimdatajpa.repository;
+
+// member_view 조회 결과 (불변이라 결과 캐시에 담아 호출한 곳끼리 공유해도 된다)
+public record MemberViewDto(Long id, String username, String teamName) {
+}
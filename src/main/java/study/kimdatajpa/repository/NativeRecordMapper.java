@@ -0,0 +1,150 @@
+package study.kimdatajpa.repository;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+// 네이티브 쿼리 결과(Object[])를 레코드나 final 클래스 생성자로 바로 매핑
+// - 생성자 파라미터 이름 = 쿼리 컬럼 별칭 (대소문자 무시)
+// - 별칭 -> 컬럼 위치 매핑은 한 번만 계산해서 재사용 (인터페이스 Projection 의 프록시/Map 조회 없음)
+// - validate() 로 쿼리의 실제 별칭과 생성자 파라미터를 미리 검증한다
+public class NativeRecordMapper<T> {
+
+    private final Class<T> type;
+    private final String sql;
+    private final String[] names;
+    private final Class<?>[] parameterTypes;
+    private final MethodHandle constructor; // (Object[])Object
+
+    private volatile int[] columnIndexes; // 생성자 파라미터 i -> 결과 컬럼 위치
+
+    public NativeRecordMapper(Class<T> type, String sql) {
+        this.type = type;
+        this.sql = sql;
+        Constructor<?> target = constructorOf(type);
+        Parameter[] parameters = target.getParameters();
+        this.names = type.isRecord()
+            ? Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toArray(String[]::new)
+            : Arrays.stream(parameters).map(Parameter::getName).toArray(String[]::new);
+        this.parameterTypes = target.getParameterTypes();
+        try {
+            this.constructor = MethodHandles.publicLookup().unreflectConstructor(target)
+                .asSpreader(Object[].class, parameters.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("생성자에 접근할 수 없음: " + type.getName(), e);
+        }
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    // 쿼리를 실행하지 않고 JDBC 메타데이터로 컬럼 별칭만 읽어서 검증 (한 번만)
+    public void validate(DataSource dataSource) {
+        if (columnIndexes != null) {
+            return;
+        }
+        synchronized (this) {
+            if (columnIndexes != null) {
+                return;
+            }
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement ps = connection.prepareStatement(sql)) {
+                ResultSetMetaData metaData = ps.getMetaData();
+                Map<String, Integer> columns = new HashMap<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.put(metaData.getColumnLabel(i).toLowerCase(), i - 1);
+                }
+                int[] indexes = new int[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    Integer index = columns.get(names[i].toLowerCase());
+                    if (index == null) {
+                        throw new IllegalStateException(type.getSimpleName() + "." + names[i]
+                            + " 에 해당하는 컬럼 별칭이 쿼리에 없음: " + columns.keySet() + " / " + sql);
+                    }
+                    indexes[i] = index;
+                }
+                columnIndexes = indexes;
+            } catch (SQLException e) {
+                throw new IllegalStateException("네이티브 쿼리 검증 실패: " + sql, e);
+            }
+        }
+    }
+
+    public List<T> map(List<?> rows) {
+        int[] indexes = columnIndexes;
+        if (indexes == null) {
+            throw new IllegalStateException("validate() 를 먼저 호출해야 함: " + sql);
+        }
+        return rows.stream().map(row -> {
+            Object[] columns = row instanceof Object[] array ? array : new Object[]{row};
+            Object[] values = new Object[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                values[i] = convert(columns[indexes[i]], parameterTypes[i]);
+            }
+            return newInstance(values);
+        }).toList();
+    }
+
+    private T newInstance(Object[] values) {
+        try {
+            Object instance = constructor.invokeExact(values);
+            return type.cast(instance);
+        } catch (Throwable e) {
+            throw new IllegalStateException(type.getSimpleName() + " 생성 실패: " + Arrays.toString(values), e);
+        }
+    }
+
+    // 드라이버가 돌려준 숫자 타입이 생성자 타입과 다를 때만 변환
+    private static Object convert(Object value, Class<?> target) {
+        if (value == null || target.isInstance(value) || !(value instanceof Number number)) {
+            return value;
+        }
+        if (target == Long.class || target == long.class) {
+            return number.longValue();
+        }
+        if (target == Integer.class || target == int.class) {
+            return number.intValue();
+        }
+        if (target == Double.class || target == double.class) {
+            return number.doubleValue();
+        }
+        return value;
+    }
+
+    private static Constructor<?> constructorOf(Class<?> type) {
+        if (type.isRecord()) {
+            Class<?>[] componentTypes = Arrays.stream(type.getRecordComponents())
+                .map(RecordComponent::getType).toArray(Class<?>[]::new);
+            try {
+                return type.getDeclaredConstructor(componentTypes);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        if (!Modifier.isFinal(type.getModifiers())) {
+            throw new IllegalArgumentException("레코드나 final 클래스만 지원: " + type.getName());
+        }
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1
+            || !Arrays.stream(constructors[0].getParameters()).allMatch(Parameter::isNamePresent)) {
+            throw new IllegalArgumentException(
+                "public 생성자가 하나이고 파라미터 이름(-parameters)이 있어야 함: " + type.getName());
+        }
+        return constructors[0];
+    }
+}
@@ -0,0 +1,40 @@
+package study.kimdatajpa.repository;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.data.domain.Sort;
+
+// 정렬 프로퍼티 화이트리스트 (클라이언트 프로퍼티 이름 -> 쿼리 컬럼 또는 엔티티 경로)
+// 허용된 프로퍼티만 order by 절에 들어가므로 문자열 조립 쿼리에서도 안전하다.
+public class SortWhitelist {
+
+    private final Map<String, String> columns;
+
+    public SortWhitelist(Map<String, String> columns) {
+        this.columns = Map.copyOf(columns);
+    }
+
+    public String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : sort) {
+            orderBy.add(column(order) + (order.isAscending() ? " asc" : " desc"));
+        }
+        return orderBy.toString();
+    }
+
+    // Criteria(QueryUtils.toOrders)용: 프로퍼티 이름을 엔티티 경로로 바꾼 Sort
+    public Sort translate(Sort sort) {
+        return Sort.by(sort.stream().map(order -> order.withProperty(column(order))).toList());
+    }
+
+    private String column(Sort.Order order) {
+        String column = columns.get(order.getProperty());
+        if (column == null) {
+            throw new IllegalArgumentException("허용되지 않은 정렬 프로퍼티: " + order.getProperty());
+        }
+        return column;
+    }
+}
@@ -0,0 +1,46 @@
+package study.kimdatajpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+// StatelessSession + 키셋 페이징으로 청크 단위 조회 (배치용)
+// 1차 캐시, 스냅샷(변경 감지용 복사본)이 없어서 청크를 넘기고 나면 메모리에 남는 것이 없다.
+// 현재 트랜잭션과 별개의 커넥션을 쓰므로 커밋된 데이터만 보인다.
+final class StatelessChunkReader {
+
+    private final SessionFactory sessionFactory;
+
+    StatelessChunkReader(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+    }
+
+    // jpql 은 ":lastId" 보다 큰 id 를 id 순으로 조회해야 한다
+    <T> void forEachChunk(String jpql, Class<T> type, Function<T, Long> idOf, int size,
+        Consumer<List<T>> consumer) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("청크 크기는 1 이상이어야 합니다: " + size);
+        }
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Long lastId = Long.MIN_VALUE;
+            while (true) {
+                List<T> chunk = session.createSelectionQuery(jpql, type)
+                    .setParameter("lastId", lastId)
+                    .setMaxResults(size)
+                    .setFetchSize(size)
+                    .getResultList();
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                consumer.accept(chunk);
+                if (chunk.size() < size) {
+                    return;
+                }
+                lastId = idOf.apply(chunk.get(chunk.size() - 1));
+            }
+        }
+    }
+}
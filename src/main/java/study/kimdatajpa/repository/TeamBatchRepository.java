@@ -0,0 +1,11 @@
+package study.kimdatajpa.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+import study.kimdatajpa.entity.Team;
+
+// 배치용 조회 (StatelessSession, members 컬렉션은 로딩할 수 없다)
+public interface TeamBatchRepository {
+
+    void forEachChunk(int size, Consumer<List<Team>> consumer);
+}
@@ -0,0 +1,21 @@
+package study.kimdatajpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Consumer;
+import study.kimdatajpa.entity.Team;
+
+public class TeamBatchRepositoryImpl implements TeamBatchRepository {
+
+    private final StatelessChunkReader reader;
+
+    public TeamBatchRepositoryImpl(EntityManagerFactory emf) {
+        this.reader = new StatelessChunkReader(emf);
+    }
+
+    @Override
+    public void forEachChunk(int size, Consumer<List<Team>> consumer) {
+        reader.forEachChunk("select t from Team t where t.id > :lastId order by t.id",
+            Team.class, Team::getId, size, consumer);
+    }
+}
@@ -1,7 +1,10 @@
 package study.kimdatajpa.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.kimdatajpa.entity.Team;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
-}
\ No newline at end of file
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamBatchRepository, TeamRepositoryCustom {
+
+    List<Team> findByName(String name);
+}
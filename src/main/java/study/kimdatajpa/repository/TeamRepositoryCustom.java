@@ -0,0 +1,17 @@
+package study.kimdatajpa.repository;
+
+import java.util.Collection;
+
+// 팀 단위 회원 이동/삭제를 엔티티 로딩 없이 벌크 쿼리로 처리
+// 실행 전에 flush 하고, 영속성 컨텍스트의 해당 Member 와 members 를 로딩한 Team 은 분리(detach)된다 (다시 조회하면 최신 상태)
+public interface TeamRepositoryCustom {
+
+    // fromTeamId 의 모든 회원을 toTeamId 로 옮긴다
+    int reassignMembers(Long fromTeamId, Long toTeamId);
+
+    // teamId 의 모든 회원을 팀 없음으로
+    int detachMembers(Long teamId);
+
+    // 회원을 팀 없음으로 만든 뒤 팀 삭제, 삭제한 팀 수를 반환
+    int deleteTeams(Collection<Long> teamIds);
+}
@@ -0,0 +1,124 @@
+package study.kimdatajpa.repository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.MemberChangedEvent;
+import study.kimdatajpa.entity.MemberChangedEvent.Type;
+import study.kimdatajpa.entity.Team;
+
+@RequiredArgsConstructor
+public class TeamRepositoryCustomImpl implements TeamRepositoryCustom {
+
+    private static final String TEAM_MEMBERS_ROLE = Team.class.getName() + ".members";
+
+    private final EntityManager em;
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    @Transactional
+    public int reassignMembers(Long fromTeamId, Long toTeamId) {
+        if (fromTeamId.equals(toTeamId)) {
+            return 0;
+        }
+        return moveMembers(List.of(fromTeamId), toTeamId, false);
+    }
+
+    @Override
+    @Transactional
+    public int detachMembers(Long teamId) {
+        return moveMembers(List.of(teamId), null, false);
+    }
+
+    @Override
+    @Transactional
+    public int deleteTeams(Collection<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return 0;
+        }
+        moveMembers(teamIds, null, true);
+        int deleted = em.createQuery("delete from Team t where t.id in :ids")
+            .setParameter("ids", teamIds)
+            .executeUpdate();
+        Cache cache = em.getEntityManagerFactory().getCache();
+        teamIds.forEach(teamId -> cache.evict(Team.class, teamId));
+        return deleted;
+    }
+
+    private int moveMembers(Collection<Long> fromTeamIds, Long toTeamId, boolean deletingTeams) {
+        em.flush(); // 벌크 쿼리 전에 쓰기 지연된 변경 반영
+
+        // 이벤트와 캐시 정리에 필요한 값만 조회 (idx_member_team_id, 엔티티는 만들지 않음)
+        List<Object[]> rows = em.createQuery(
+                "select m.id, m.username, m.age from Member m where m.team.id in :teamIds", Object[].class)
+            .setParameter("teamIds", fromTeamIds)
+            .getResultList();
+
+        int updated = 0;
+        if (!rows.isEmpty()) {
+            // 벌크 쿼리는 auditing 을 거치지 않으므로 수정 시각을 직접 갱신
+            updated = em.createQuery("update Member m set m.team = :team, m.lastModifiedDate = :now " +
+                    "where m.team.id in :teamIds")
+                .setParameter("team", toTeamId == null ? null : em.getReference(Team.class, toTeamId))
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("teamIds", fromTeamIds)
+                .executeUpdate();
+        }
+
+        Set<Long> memberIds = new HashSet<>();
+        rows.forEach(row -> memberIds.add((Long) row[0]));
+        Set<Long> teamIds = new HashSet<>(fromTeamIds);
+        if (toTeamId != null) {
+            teamIds.add(toTeamId);
+        }
+        syncPersistenceContext(memberIds, teamIds, deletingTeams);
+
+        // 엔티티 리스너를 거치지 않으므로 변경 이벤트를 직접 발행 (커밋 후 인덱스 등에 반영)
+        for (Object[] row : rows) {
+            publisher.publishEvent(new MemberChangedEvent(Type.UPDATED, (Long) row[0], (String) row[1],
+                (Integer) row[2], toTeamId));
+        }
+        return updated;
+    }
+
+    // 이미 로딩된 Member.team, Team.members 와 2차 캐시가 DB 와 어긋나지 않게 정리
+    // (호출한 쪽이 들고 있는 엔티티는 분리하지 않고 refresh 로 다시 읽는다. flush 직후라 잃는 변경은 없고,
+    // 아직 초기화되지 않은 프록시, 컬렉션은 나중에 최신 값을 읽는다)
+    private void syncPersistenceContext(Set<Long> memberIds, Set<Long> teamIds, boolean deletingTeams) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        List<Object> stale = new ArrayList<>();
+        for (Map.Entry<Object, EntityEntry> entry :
+            session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            Object id = entry.getValue().getId();
+            if (entry.getKey() instanceof Member && memberIds.contains(id)) {
+                stale.add(entry.getKey());
+            } else if (entry.getKey() instanceof Team team && teamIds.contains(id)) {
+                if (deletingTeams) {
+                    em.detach(team); // 곧 삭제될 행이라 다시 읽을 값이 없다 (em.remove 후와 같은 상태)
+                } else if (Hibernate.isInitialized(team.getMembers())) {
+                    stale.add(team);
+                }
+            }
+        }
+        stale.forEach(em::refresh); // 순회가 끝난 뒤 다시 읽는다 (refresh 가 새 엔티티를 올릴 수 있음)
+
+        Cache cache = em.getEntityManagerFactory().getCache();
+        memberIds.forEach(memberId -> cache.evict(Member.class, memberId));
+        org.hibernate.Cache hibernateCache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        teamIds.forEach(teamId -> hibernateCache.evictCollectionData(TEAM_MEMBERS_ROLE, teamId));
+    }
+}
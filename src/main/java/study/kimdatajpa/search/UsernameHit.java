@@ -0,0 +1,4 @@
+package study.kimdatajpa.search;
+
+public record UsernameHit(Long id, String username) {
+}
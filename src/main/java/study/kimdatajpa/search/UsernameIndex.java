@@ -0,0 +1,151 @@
+package study.kimdatajpa.search;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimdatajpa.entity.MemberChangedEvent;
+
+// username 접두어 검색용 메모리 인덱스 (자동완성)
+// 키는 "소문자 username + \0 + id" 라서 정렬된 skip list 에서 접두어 범위만 잘라 읽으면 된다.
+// 기동 시 member 테이블을 스트리밍으로 적재하고, 이후에는 커밋된 Member 변경 이벤트로 갱신한다.
+@Slf4j
+@Component
+public class UsernameIndex {
+
+    private static final char SEPARATOR = '\0';
+
+    private final ConcurrentSkipListMap<String, UsernameHit> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxEntries;
+
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile boolean loaded;
+    private volatile boolean truncated; // maxEntries 를 넘어 일부 회원이 빠짐
+    private final Set<Long> removedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    public UsernameIndex(EntityManager em, PlatformTransactionManager transactionManager,
+        @Value("${member.username-index.max-entries:1000000}") int maxEntries) {
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxEntries = maxEntries;
+    }
+
+    public record Result(List<UsernameHit> hits, boolean complete) {
+    }
+
+    // 접두어로 시작하는 username 을 사전 순으로 limit 개까지
+    public Result search(String prefix, int limit) {
+        String from = normalize(prefix);
+        List<UsernameHit> hits = new ArrayList<>(Math.min(limit, 100));
+        for (UsernameHit hit : entries.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (hits.size() >= limit) {
+                break;
+            }
+            hits.add(hit);
+        }
+        return new Result(hits, loaded && !truncated);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    // 엔티티 필드를 건드리지 않도록 id, username 만 스칼라로 스트리밍 (영속성 컨텍스트에 쌓이지 않음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = em.createQuery(
+                    "select m.id, m.username from Member m", Object[].class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream()) {
+                rows.forEach(row -> {
+                    Long id = (Long) row[0];
+                    // 적재 중에 들어온 이벤트가 더 최신이므로 덮어쓰지 않는다
+                    if (!keyById.containsKey(id) && !removedDuringLoad.contains(id)) {
+                        put(id, (String) row[1]);
+                    }
+                });
+            }
+        });
+        loaded = true;
+        removedDuringLoad.clear();
+        log.info("username index loaded: {} entries in {}ms{}", size.get(),
+            (System.nanoTime() - start) / 1_000_000, truncated ? " (truncated at max-entries)" : "");
+    }
+
+    // 롤백된 변경이 인덱스에 들어가지 않도록 커밋 후에 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.removed()) {
+            remove(event.memberId());
+        } else {
+            put(event.memberId(), event.username());
+        }
+    }
+
+    void put(Long id, String username) {
+        if (id == null) {
+            return;
+        }
+        if (username == null) {
+            remove(id);
+            return;
+        }
+        String key = normalize(username) + SEPARATOR + id;
+        String previous = keyById.get(id);
+        if (key.equals(previous)) {
+            return;
+        }
+        if (previous == null && size.get() >= maxEntries) {
+            truncated = true;
+            return;
+        }
+        entries.put(key, new UsernameHit(id, username));
+        keyById.put(id, key);
+        if (previous != null) {
+            entries.remove(previous);
+        } else {
+            size.incrementAndGet();
+        }
+    }
+
+    void remove(Long id) {
+        if (!loaded) {
+            removedDuringLoad.add(id);
+        }
+        String key = keyById.remove(id);
+        if (key != null) {
+            entries.remove(key);
+            size.decrementAndGet();
+        }
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+}
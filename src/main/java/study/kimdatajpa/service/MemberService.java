@@ -0,0 +1,46 @@
+package study.kimdatajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import study.kimdatajpa.dto.MemberDto;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.FetchPlan;
+import study.kimdatajpa.repository.MemberRecord;
+import study.kimdatajpa.repository.MemberRepository;
+import study.kimdatajpa.repository.MemberSpec;
+
+// 조회는 readOnly 트랜잭션 (하이버네이트 flush 모드 MANUAL -> 변경 감지 생략, 커넥션 setReadOnly 힌트)
+// OSIV 를 끈 상태에서는 여기서 DTO 로 바꿔서 나가야 한다 (트랜잭션 밖에서는 지연 로딩 불가)
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+
+    public String findUsername(Long id) {
+        return memberRepository.findRecordById(id) // 현재 테이블에 없으면 보관 테이블에서
+            .map(MemberRecord::username)
+            .orElseThrow();
+    }
+
+    public Page<MemberDto> findMemberDtoPage(FetchPlan plan, Pageable pageable) {
+        return memberRepository.findMemberDtoPage(plan, pageable);
+    }
+
+    // 명세 검색 + expand 한 연관관계만 함께 조회 (팀 이름을 꺼내도 N + 1 없음)
+    public Page<MemberDto> search(String username, String teamName, FetchPlan plan, Pageable pageable) {
+        Specification<Member> spec = Specification
+            .where(StringUtils.hasText(username) ? MemberSpec.username(username) : null)
+            .and(MemberSpec.teamName(teamName));
+        return memberRepository.findAll(spec, plan, pageable)
+            .map(member -> plan.includes("team") && member.getTeam() != null
+                ? new MemberDto(member.getId(), member.getUsername(), member.getTeam().getName())
+                : new MemberDto(member));
+    }
+}
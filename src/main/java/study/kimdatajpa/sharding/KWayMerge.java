@@ -0,0 +1,50 @@
+package study.kimdatajpa.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// 각각 정렬된 샤드 결과를 하나의 정렬 순서로 합친다 (힙에는 샤드당 커서 하나)
+final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    private static final class Cursor<T> {
+        final List<T> rows;
+        int index;
+
+        Cursor(List<T> rows) {
+            this.rows = rows;
+        }
+
+        T current() {
+            return rows.get(index);
+        }
+    }
+
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator, long skip, int limit) {
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+            (a, b) -> comparator.compare(a.current(), b.current()));
+        for (List<T> rows : sortedLists) {
+            if (!rows.isEmpty()) {
+                heap.add(new Cursor<>(rows));
+            }
+        }
+        List<T> result = new ArrayList<>(Math.min(limit, 1024));
+        long skipped = 0;
+        while (!heap.isEmpty() && result.size() < limit) {
+            Cursor<T> cursor = heap.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                result.add(cursor.current());
+            }
+            if (++cursor.index < cursor.rows.size()) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+}
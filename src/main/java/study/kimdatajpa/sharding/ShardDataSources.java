@@ -0,0 +1,65 @@
+package study.kimdatajpa.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 샤드별 커넥션 풀
+// DataSource 빈으로 등록하면 기본 DataSource 자동 설정이 꺼지므로 빈이 아닌 이 클래스 안에서만 관리한다.
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<JdbcTemplate> templates = new ArrayList<>();
+    private final ExecutorService executor;
+
+    public ShardDataSources(ShardingProperties properties) {
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(shard.url());
+            dataSource.setUsername(shard.username());
+            dataSource.setPassword(shard.password());
+            dataSource.setPoolName("shard-" + dataSources.size());
+            dataSources.add(dataSource);
+            templates.add(new JdbcTemplate(dataSource));
+        }
+        if (dataSources.isEmpty()) {
+            throw new IllegalStateException("sharding.shards 가 비어 있습니다");
+        }
+        this.executor = Executors.newFixedThreadPool(dataSources.size(), r -> {
+            Thread thread = new Thread(r, "shard-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public JdbcTemplate jdbc(int shard) {
+        return templates.get(shard);
+    }
+
+    HikariDataSource dataSource(int shard) {
+        return dataSources.get(shard);
+    }
+
+    // 모든 샤드에 동시에 보내고 샤드 순서대로 결과를 모은다
+    public <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = templates.stream()
+            .map(jdbc -> CompletableFuture.supplyAsync(() -> query.apply(jdbc), executor))
+            .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
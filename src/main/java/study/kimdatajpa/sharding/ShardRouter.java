@@ -0,0 +1,19 @@
+package study.kimdatajpa.sharding;
+
+// team_id 로 샤드 결정 (팀 없는 회원은 0번 샤드)
+public class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public int shardFor(Long teamId) {
+        return teamId == null ? 0 : Math.floorMod(teamId, shardCount);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+}
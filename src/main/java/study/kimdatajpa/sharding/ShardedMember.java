@@ -0,0 +1,5 @@
+package study.kimdatajpa.sharding;
+
+// 샤드의 member 행 (team 은 카탈로그 DB 에 있으므로 id 만 가진다)
+public record ShardedMember(Long id, String username, int age, Long teamId) {
+}
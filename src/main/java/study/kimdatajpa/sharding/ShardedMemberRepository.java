@@ -0,0 +1,163 @@
+package study.kimdatajpa.sharding;
+
+import static java.util.Comparator.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import study.kimdatajpa.dto.MemberDto;
+import study.kimdatajpa.entity.Team;
+import study.kimdatajpa.repository.TeamRepository;
+
+// team_id 기준으로 샤딩된 member 조회/저장
+// 한 팀에 대한 조회는 샤드 하나로, 전체 조회는 모든 샤드에 보내고(scatter) 정렬 순서대로 합친다(gather).
+// Member 엔티티, MemberRepository, MemberService 와는 별개인 JDBC 저장소다: 그쪽은 여전히 카탈로그의 member 테이블만 쓴다.
+// 샤드에 넣은 회원은 이 클래스로만 읽을 수 있고 member_view, 변경 피드, 캐시 무효화 등에는 나타나지 않는다.
+public class ShardedMemberRepository {
+
+    private static final String COLUMNS = "select member_id, username, age, team_id from member";
+    private static final RowMapper<ShardedMember> ROW = (rs, rowNum) -> new ShardedMember(
+        rs.getLong("member_id"), rs.getString("username"), rs.getInt("age"),
+        rs.getObject("team_id", Long.class));
+
+    // 정렬 프로퍼티 화이트리스트: SQL 컬럼과 병합에 쓸 비교자 (null 순서는 SQL 과 맞춘다)
+    private record SortColumn(String sql, Comparator<ShardedMember> ascending) {
+    }
+
+    private static final Map<String, SortColumn> SORT_COLUMNS = Map.of(
+        "id", new SortColumn("member_id", comparing(ShardedMember::id)),
+        "username", new SortColumn("username",
+            comparing(ShardedMember::username, nullsFirst(naturalOrder()))),
+        "age", new SortColumn("age", comparingInt(ShardedMember::age)),
+        "teamId", new SortColumn("team_id",
+            comparing(ShardedMember::teamId, nullsFirst(naturalOrder()))));
+
+    private final ShardDataSources shards;
+    private final ShardRouter router;
+    private final TeamRepository teamRepository; // 카탈로그 (기본 DataSource)
+    private final JdbcTemplate catalog;
+
+    public ShardedMemberRepository(ShardDataSources shards, ShardRouter router,
+        TeamRepository teamRepository, JdbcTemplate catalog) {
+        this.shards = shards;
+        this.router = router;
+        this.teamRepository = teamRepository;
+        this.catalog = catalog;
+    }
+
+    // 샤드 간에 겹치지 않는 id 는 카탈로그 시퀀스(sharding/catalog.sql)에서 받는다
+    public ShardedMember save(String username, int age, Long teamId) {
+        Long id = catalog.queryForObject("select next value for shard_member_seq", Long.class);
+        shards.jdbc(router.shardFor(teamId)).update(
+            "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+            id, username, age, teamId);
+        return new ShardedMember(id, username, age, teamId);
+    }
+
+    // 팀을 알면 (샤드 힌트) 해당 샤드에만, 모르면 전체 샤드 조회
+    public List<ShardedMember> findByUsername(String username, Long teamHint) {
+        String sql = COLUMNS + " where username = ? order by member_id";
+        if (teamHint != null) {
+            return shards.jdbc(router.shardFor(teamHint)).query(sql, ROW, username);
+        }
+        return KWayMerge.merge(shards.scatter(jdbc -> jdbc.query(sql, ROW, username)),
+            comparing(ShardedMember::id), 0, Integer.MAX_VALUE);
+    }
+
+    // MemberSpec.teamName 과 같은 조건 (카탈로그에서 팀을 찾고, 그 팀의 샤드만 조회)
+    public List<ShardedMember> findByTeamName(String teamName) {
+        List<ShardedMember> result = new ArrayList<>();
+        for (Team team : teamRepository.findByName(teamName)) {
+            result.addAll(shards.jdbc(router.shardFor(team.getId())).query(
+                COLUMNS + " where team_id = ? order by member_id", ROW, team.getId()));
+        }
+        return result;
+    }
+
+    // 샤드마다 offset + size 개를 정렬해서 받아 k-way 병합 후 offset 만큼 버린다
+    // (뒤 페이지로 갈수록 샤드마다 읽는 양이 늘어나므로 깊은 페이지는 피할 것)
+    public Page<ShardedMember> findAll(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        String sql = COLUMNS + orderBy(sort);
+        Comparator<ShardedMember> comparator = comparator(sort);
+        if (pageable.isUnpaged()) {
+            List<ShardedMember> content = KWayMerge.merge(shards.scatter(jdbc -> jdbc.query(sql, ROW)),
+                comparator, 0, Integer.MAX_VALUE);
+            return new PageImpl<>(content);
+        }
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        List<ShardedMember> content = KWayMerge.merge(
+            shards.scatter(jdbc -> jdbc.query(sql + " limit ?", ROW, limit)),
+            comparator, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, count());
+    }
+
+    // findMemberDto 와 같이 팀이 있는 회원만 (팀 이름은 카탈로그에서 한 번에 조회)
+    public List<MemberDto> findMemberDto() {
+        List<ShardedMember> members = KWayMerge.merge(shards.scatter(jdbc -> jdbc.query(
+                COLUMNS + " where team_id is not null order by member_id", ROW)),
+            comparing(ShardedMember::id), 0, Integer.MAX_VALUE);
+
+        Set<Long> teamIds = new HashSet<>();
+        members.forEach(m -> teamIds.add(m.teamId()));
+        Map<Long, String> teamNames = teamRepository.findAllById(teamIds).stream()
+            .collect(Collectors.toMap(Team::getId, Team::getName));
+
+        return members.stream()
+            .filter(m -> teamNames.containsKey(m.teamId()))
+            .map(m -> new MemberDto(m.id(), m.username(), teamNames.get(m.teamId())))
+            .toList();
+    }
+
+    public long count() {
+        return shards.scatter(jdbc -> jdbc.queryForObject("select count(*) from member", Long.class))
+            .stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long countByTeam(Long teamId) {
+        return shards.jdbc(router.shardFor(teamId)).queryForObject(
+            "select count(*) from member where team_id = ?", Long.class, teamId);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        forEachColumn(sort, (column, order) -> orderBy.add(column.sql()
+            + (order.isAscending() ? " asc nulls first" : " desc nulls last")));
+        return orderBy.toString();
+    }
+
+    private static Comparator<ShardedMember> comparator(Sort sort) {
+        List<Comparator<ShardedMember>> comparators = new ArrayList<>();
+        forEachColumn(sort, (column, order) -> comparators.add(
+            order.isAscending() ? column.ascending() : column.ascending().reversed()));
+        return comparators.stream().reduce(Comparator::thenComparing).orElseThrow();
+    }
+
+    // 샤드 간 순서가 항상 같도록 마지막에 member_id 를 붙인다
+    private static void forEachColumn(Sort sort, BiConsumer<SortColumn, Sort.Order> action) {
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            SortColumn column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("허용되지 않은 정렬 프로퍼티: " + order.getProperty());
+            }
+            byId |= order.getProperty().equals("id");
+            action.accept(column, order);
+        }
+        if (!byId) {
+            action.accept(SORT_COLUMNS.get("id"), Sort.Order.asc("id"));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package study.kimdatajpa.sharding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import study.kimdatajpa.repository.TeamRepository;
+
+// 샤딩 사용 시에만 (sharding.enabled=true, sharding 프로필 참고)
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        ShardDataSources shards = new ShardDataSources(properties);
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(
+            new ClassPathResource("sharding/schema.sql"));
+        for (int i = 0; i < shards.size(); i++) {
+            schema.execute(shards.dataSource(i));
+        }
+        return shards;
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardDataSources shards) {
+        return new ShardRouter(shards.size());
+    }
+
+    @Bean
+    public ShardedMemberRepository shardedMemberRepository(ShardDataSources shards, ShardRouter router,
+        TeamRepository teamRepository, JdbcTemplate jdbcTemplate) {
+        new ResourceDatabasePopulator(new ClassPathResource("sharding/catalog.sql"))
+            .execute(jdbcTemplate.getDataSource());
+        return new ShardedMemberRepository(shards, router, teamRepository, jdbcTemplate);
+    }
+}
@@ -0,0 +1,12 @@
+package study.kimdatajpa.sharding;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 샤드 DB 목록 (순서가 곧 샤드 번호이므로 운영 중에 바꾸면 안 된다)
+@ConfigurationProperties("sharding")
+public record ShardingProperties(List<Shard> shards) {
+
+    public record Shard(String url, String username, String password) {
+    }
+}
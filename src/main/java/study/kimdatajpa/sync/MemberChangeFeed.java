@@ -0,0 +1,83 @@
+package study.kimdatajpa.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import study.kimdatajpa.repository.MemberChange;
+import study.kimdatajpa.repository.MemberRepository;
+
+// "T 이후 무엇이 바뀌었나" 변경 피드 (하위 시스템의 증분 동기화용)
+// 토큰은 마지막으로 넘겨준 (lastModifiedDate, member_id) 를 (다 따라잡았으면 조회 상한 시각을) 담는다. 클라이언트는 받은 토큰을 그대로 다음 요청에 보낸다.
+// lastModifiedDate 는 flush 시점 값이라 커밋이 늦은 트랜잭션의 변경이 이미 지나간 키셋 앞에 끼어들 수 있다.
+// 그래서 now - safety-lag 까지만 내보낸다 (safety-lag 는 가장 긴 쓰기 트랜잭션보다 길어야 한다).
+@Service
+@Transactional(readOnly = true)
+public class MemberChangeFeed {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public record ChangeBatch(List<MemberChange> changes, String token, boolean hasMore) {
+    }
+
+    private final MemberRepository memberRepository;
+    private final Duration safetyLag;
+    private final Duration tombstoneRetention;
+
+    public MemberChangeFeed(MemberRepository memberRepository,
+        @Value("${member.sync.safety-lag:5s}") Duration safetyLag,
+        @Value("${member.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.memberRepository = memberRepository;
+        this.safetyLag = safetyLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // token 이 없으면 처음부터 (전체 동기화)
+    public ChangeBatch changesSince(String token, int size) {
+        Watermark watermark = token == null || token.isBlank() ? new Watermark(BEGINNING, Long.MIN_VALUE)
+            : Watermark.decode(token);
+        // 그 사이 삭제 기록이 지워졌을 수 있으므로 전체 동기화부터 다시
+        if (watermark.after().isBefore(LocalDateTime.now().minus(tombstoneRetention))
+            && watermark.after().isAfter(BEGINNING)) {
+            throw new ResponseStatusException(HttpStatus.GONE, "토큰이 삭제 기록 보관 기간을 지났습니다");
+        }
+
+        LocalDateTime upTo = LocalDateTime.now().minus(safetyLag);
+        List<MemberChange> changes = memberRepository.findChanges(watermark.after(), watermark.afterId(),
+            upTo, size + 1);
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+            MemberChange last = changes.get(size - 1);
+            watermark = new Watermark(last.changedAt(), last.id());
+        } else if (upTo.isAfter(watermark.after())) {
+            // 다 따라잡았으면 upTo 까지 본 것으로 (변경이 없는 기간이 길어도 토큰이 보관 기간을 넘기지 않도록)
+            watermark = new Watermark(upTo, Long.MAX_VALUE);
+        }
+        return new ChangeBatch(changes, watermark.encode(), hasMore);
+    }
+
+    private record Watermark(LocalDateTime after, long afterId) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((after + "," + afterId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Watermark decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(",");
+                return new Watermark(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 동기화 토큰입니다", e);
+            }
+        }
+    }
+}
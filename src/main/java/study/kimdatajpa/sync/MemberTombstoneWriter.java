@@ -0,0 +1,45 @@
+package study.kimdatajpa.sync;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import study.kimdatajpa.entity.MemberChangedEvent;
+
+// 회원 삭제(보관 이동은 제외, 보관된 회원은 findRecordById 로 여전히 조회된다)를 같은 트랜잭션에서 member_tombstone 에 기록하고, 보관 기간이 지나면 지운다
+@Slf4j
+@Component
+public class MemberTombstoneWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+
+    public MemberTombstoneWriter(JdbcTemplate jdbcTemplate,
+        @Value("${member.sync.tombstone-retention:30d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.type() == MemberChangedEvent.Type.DELETED) {
+            jdbcTemplate.update("merge into member_tombstone (member_id, deleted_at) key (member_id) values (?, ?)",
+                event.memberId(), LocalDateTime.now()); // lastModifiedDate 와 같은 시계
+        }
+    }
+
+    @Scheduled(initialDelayString = "${member.sync.tombstone-purge-interval:PT1H}",
+        fixedDelayString = "${member.sync.tombstone-purge-interval:PT1H}")
+    public int purge() {
+        int purged = jdbcTemplate.update("delete from member_tombstone where deleted_at < ?",
+            LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("purged {} member tombstones older than {}", purged, retention);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,74 @@
+package study.kimdatajpa.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// member_view 를 member + team 에서 다시 만든다 (엔티티 이벤트를 거치지 않고 넣은 데이터, 뷰 스키마 변경 후)
+// member_id 키셋으로 청크마다 별도 트랜잭션에서 merge 하고, 그 범위에서 member 에 없는 행은 지운다.
+// 재구성 중의 일반 쓰기는 MemberViewWriter 가 계속 반영하므로 멈출 필요 없다.
+@Slf4j
+@Component
+public class MemberViewRebuilder {
+
+    private static final String MERGE_RANGE =
+        "merge into member_view (member_id, username, age, team_id, team_name) key (member_id) " +
+            "select m.member_id, m.username, m.age, m.team_id, t.name " +
+            "from member m left join team t on m.team_id = t.team_id " +
+            "where m.member_id > ? and m.member_id <= ?";
+    private static final String DELETE_ORPHANS =
+        "delete from member_view v where v.member_id > ? and v.member_id <= ? " +
+            "and not exists (select 1 from member m where m.member_id = v.member_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final boolean rebuildOnStartup;
+
+    public MemberViewRebuilder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+        @Value("${member.view.rebuild-chunk-size:10000}") int chunkSize,
+        @Value("${member.view.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    // 반영한 회원 수
+    public long rebuild() {
+        long start = System.nanoTime();
+        long lastId = Long.MIN_VALUE;
+        long total = 0;
+        while (true) {
+            long from = lastId;
+            // 청크의 마지막 id (인덱스 순서로 chunkSize 건만 읽는다)
+            Long to = jdbcTemplate.queryForObject("select max(member_id) from (select member_id from member " +
+                "where member_id > ? order by member_id limit ?)", Long.class, from, chunkSize);
+            if (to == null) {
+                tx.executeWithoutResult(status -> jdbcTemplate.update(
+                    "delete from member_view where member_id > ?", from));
+                break;
+            }
+            total += tx.execute(status -> {
+                int merged = jdbcTemplate.update(MERGE_RANGE, from, to);
+                jdbcTemplate.update(DELETE_ORPHANS, from, to);
+                return merged;
+            });
+            lastId = to;
+        }
+        log.info("member_view rebuilt: {} members in {}ms", total, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+}
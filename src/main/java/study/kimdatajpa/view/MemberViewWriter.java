@@ -0,0 +1,43 @@
+package study.kimdatajpa.view;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.kimdatajpa.entity.MemberChangedEvent;
+import study.kimdatajpa.entity.TeamChangedEvent;
+
+// member_view 를 Member/Team 변경과 같은 트랜잭션에서 갱신
+// 엔티티 리스너 이벤트는 flush 중에 동기로 오고, JdbcTemplate 은 JPA 트랜잭션의 커넥션을 그대로 쓴다.
+// (엔티티 이벤트를 거치지 않는 벌크 수정은 직접 member_view 도 고치거나 MemberChangedEvent 를 발행해야 한다)
+@Component
+@RequiredArgsConstructor
+public class MemberViewWriter {
+
+    // team insert 가 member insert 보다 먼저 실행되므로 (order_inserts, FK) 팀 이름은 DB 에서 읽는다
+    private static final String UPSERT = "merge into member_view (member_id, username, age, team_id, team_name) " +
+        "key (member_id) values (?, ?, ?, ?, (select t.name from team t where t.team_id = ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.removed()) {
+            jdbcTemplate.update("delete from member_view where member_id = ?", event.memberId());
+        } else {
+            jdbcTemplate.update(UPSERT, event.memberId(), event.username(), event.age(), event.teamId(),
+                event.teamId());
+        }
+    }
+
+    @EventListener
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (event.type() == TeamChangedEvent.Type.DELETED) {
+            jdbcTemplate.update("update member_view set team_id = null, team_name = null where team_id = ?",
+                event.teamId());
+        } else {
+            jdbcTemplate.update("update member_view set team_name = ? where team_id = ?",
+                event.name(), event.teamId());
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- 카탈로그(기본 DataSource) 쪽: 샤드 간에 겹치지 않는 member id
+create sequence if not exists shard_member_seq;
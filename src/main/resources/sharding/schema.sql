@@ -0,0 +1,9 @@
+-- 샤드마다 같은 member 테이블 (team 은 카탈로그 DB 에만 있다)
+create table if not exists member (
+    member_id bigint not null primary key,
+    username varchar(255),
+    age integer not null,
+    team_id bigint
+);
+create index if not exists idx_member_team_id on member (team_id);
+create index if not exists idx_member_username_age on member (username desc, age);
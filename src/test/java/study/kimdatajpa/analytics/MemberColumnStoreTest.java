@@ -0,0 +1,42 @@
+package study.kimdatajpa.analytics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.MemberRepository;
+
+// 트랜잭션 없이 호출해야 커밋 후 이벤트가 스냅샷에 전달된다
+@SpringBootTest
+public class MemberColumnStoreTest {
+
+    @Autowired
+    MemberColumnStore columnStore;
+    @Autowired
+    MemberRepository memberRepository;
+
+    Member member;
+
+    @AfterEach
+    public void cleanUp() {
+        if (member != null) {
+            memberRepository.deleteById(member.getId());
+        }
+    }
+
+    @Test
+    public void rebuildKeepsBulkUpdate() {
+        //given - 저장 이벤트가 아직 스냅샷에 합쳐지지 않은 상태에서 벌크 수정 (이벤트 없음)
+        member = memberRepository.save(new Member("zzzColumns", 9000));
+        memberRepository.bulkAgePlus(9000);
+
+        //when
+        columnStore.rebuild();
+
+        //then - 스캔 전에 받은 저장 이벤트(age 9000)가 벌크 수정 결과를 덮어쓰지 않는다
+        assertThat(columnStore.snapshot().countOlderThan(9000, null)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package study.kimdatajpa.analytics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import study.kimdatajpa.entity.MemberChangedEvent;
+import study.kimdatajpa.entity.MemberChangedEvent.Type;
+
+class MemberColumnsTest {
+
+    private MemberColumns columns() {
+        MemberColumns.Builder builder = new MemberColumns.Builder();
+        builder.add(1L, 10, 100L, "member1");
+        builder.add(2L, 20, 100L, "member2");
+        builder.add(3L, 30, 200L, "member3");
+        builder.add(4L, 40, null, "member4");
+        return builder.build();
+    }
+
+    @Test
+    public void aggregate() {
+        //given
+        MemberColumns columns = columns();
+
+        //when then
+        assertThat(columns.countOlderThan(15, null)).isEqualTo(3);
+        assertThat(columns.countOlderThan(15, 100L)).isEqualTo(1);
+        assertThat(columns.countOlderThan(15, 999L)).isEqualTo(0);
+        assertThat(columns.findOlderThan(15, 100L, 10)).extracting("username").containsExactly("member2");
+        assertThat(columns.teamStats()).extracting("teamId", "count", "averageAge")
+            .containsExactly(tuple(100L, 2L, 15.0), tuple(200L, 1L, 30.0), tuple(null, 1L, 40.0));
+        assertThat(columns.ageDistribution(25).get(0).counts()).containsExactly(2, 0);
+    }
+
+    @Test
+    public void applyChanges() {
+        //given
+        MemberColumns columns = columns();
+        TreeMap<Long, MemberChangedEvent> changes = new TreeMap<>();
+        changes.put(2L, new MemberChangedEvent(Type.DELETED, 2L, "member2", 20, 100L));
+        changes.put(3L, new MemberChangedEvent(Type.UPDATED, 3L, "member3", 31, 100L));
+        changes.put(5L, new MemberChangedEvent(Type.CREATED, 5L, "member5", 50, 200L));
+
+        //when
+        MemberColumns applied = columns.apply(changes);
+
+        //then
+        assertThat(applied.size()).isEqualTo(4);
+        assertThat(applied.findOlderThan(0, null, 10)).extracting("id").containsExactly(1L, 3L, 4L, 5L);
+        assertThat(applied.countOlderThan(30, 100L)).isEqualTo(1);
+        assertThat(columns.size()).isEqualTo(4); // 기존 스냅샷은 그대로
+    }
+
+    @Test
+    public void compactDictionaryOnApply() {
+        //given - 이름 변경이 쌓여 사전에 안 쓰는 값이 많아진 스냅샷
+        MemberColumns columns = columns();
+        for (int i = 0; i < 2000; i++) {
+            TreeMap<Long, MemberChangedEvent> changes = new TreeMap<>();
+            changes.put(1L, new MemberChangedEvent(Type.UPDATED, 1L, "renamed" + i, 10, 300L + i));
+            columns = columns.apply(changes);
+        }
+
+        //then - 사전을 다시 만들어도 값은 그대로
+        assertThat(columns.size()).isEqualTo(4);
+        assertThat(columns.findOlderThan(0, null, 10)).extracting("username")
+            .containsExactly("renamed1999", "member2", "member3", "member4");
+        assertThat(columns.countOlderThan(0, 2299L)).isEqualTo(1);
+        assertThat(columns.countOlderThan(0, 100L)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,59 @@
+package study.kimdatajpa.archive;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.MemberRecord;
+import study.kimdatajpa.repository.MemberRepository;
+
+// 다른 테스트가 커밋한 회원은 옮기지 않도록 이 테스트가 저장한 시각 범위만 보관한다
+@SpringBootTest(properties = {
+    "member.archive.enabled=true",
+    "member.archive.chunk-size=2",
+    "member.archive.interval=PT1H"})
+public class MemberArchiverTest {
+
+    @Autowired
+    MemberArchiver archiver;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from member_archive where username = 'zzzArchived'");
+    }
+
+    @Test
+    public void archiveAndFallback() throws Exception {
+        //given
+        LocalDateTime from = LocalDateTime.now();
+        Member member = memberRepository.save(new Member("zzzArchived", 10));
+        Thread.sleep(10); // lastModifiedDate < now 가 되도록
+
+        //when
+        int archived = archiver.archive(from, LocalDateTime.now());
+
+        //then
+        assertThat(archived).isEqualTo(1);
+        assertThat(memberRepository.findById(member.getId())).isEmpty();
+
+        Optional<MemberRecord> record = memberRepository.findRecordById(member.getId()); // 없으면 보관 테이블
+        assertThat(record).isPresent();
+        assertThat(record.get().archived()).isTrue();
+        assertThat(record.get().username()).isEqualTo("zzzArchived");
+
+        assertThat(memberRepository.findRecordsByUsername("zzzArchived", false)).isEmpty();
+        assertThat(memberRepository.findRecordsByUsername("zzzArchived", true)).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member_tombstone where member_id = ?",
+            Integer.class, member.getId())).isZero(); // 보관 이동은 삭제 기록을 남기지 않는다
+    }
+}
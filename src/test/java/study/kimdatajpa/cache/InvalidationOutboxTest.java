@@ -0,0 +1,68 @@
+package study.kimdatajpa.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.kimdatajpa.KimDataJpaApplication;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.MemberRepository;
+
+// 같은 H2 메모리 DB 를 쓰는 애플리케이션 컨텍스트 두 개 = 노드 두 개
+public class InvalidationOutboxTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1";
+
+    ConfigurableApplicationContext nodeA;
+    ConfigurableApplicationContext nodeB;
+
+    @AfterEach
+    public void close() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private ConfigurableApplicationContext start(String nodeId, String ddlAuto) {
+        return new SpringApplicationBuilder(KimDataJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + DB_URL,
+                "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "cache.invalidation.outbox.enabled=true",
+                "cache.invalidation.outbox.node-id=" + nodeId,
+                "cache.invalidation.outbox.poll-interval=PT0.05S")
+            .run();
+    }
+
+    @Test
+    public void invalidateOtherNode() throws Exception {
+        //given
+        nodeA = start("A", "create");
+        nodeB = start("B", "none"); // 스키마는 A 가 만든 것을 공유
+        MemberRepository repositoryA = nodeA.getBean(MemberRepository.class);
+        MemberRepository repositoryB = nodeB.getBean(MemberRepository.class);
+        assertThat(repositoryB.findUsernameList()).doesNotContain("zzzOutbox"); // B 캐시에 올라감
+
+        //when
+        repositoryA.save(new Member("zzzOutbox", 10));
+
+        //then
+        List<String> usernames = repositoryB.findUsernameList();
+        for (int i = 0; i < 100 && !usernames.contains("zzzOutbox"); i++) {
+            Thread.sleep(20);
+            usernames = repositoryB.findUsernameList();
+        }
+        assertThat(usernames).contains("zzzOutbox");
+        assertThat(nodeB.getBean(MeterRegistry.class)
+            .get("cache.invalidation.lag").timer().count()).isGreaterThan(0);
+    }
+}
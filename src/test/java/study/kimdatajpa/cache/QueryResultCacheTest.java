@@ -0,0 +1,67 @@
+package study.kimdatajpa.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.kimdatajpa.dto.MemberDto;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.MemberRepository;
+
+// 트랜잭션 없이 호출해야 캐시를 탄다 (쓰기 트랜잭션 안에서는 캐시를 건너뜀)
+@SpringBootTest
+public class QueryResultCacheTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    QueryResultCacheManager cacheManager;
+
+    @Test
+    public void cacheAndInvalidateOnWrite() {
+        //given
+        List<String> first = memberRepository.findUsernameList();
+        List<String> second = memberRepository.findUsernameList();
+
+        //when
+        memberRepository.save(new Member("zzzCached", 10));
+        List<String> afterWrite = memberRepository.findUsernameList();
+
+        //then
+        assertThat(second).isSameAs(first); // 캐시 적중
+        assertThat(afterWrite).contains("zzzCached");
+        assertThat(cacheManager.stats())
+            .filteredOn(stats -> stats.name().equals("MemberRepository.findUsernameList"))
+            .singleElement()
+            .satisfies(stats -> {
+                assertThat(stats.hits()).isGreaterThanOrEqualTo(1);
+                assertThat(stats.invalidations()).isGreaterThanOrEqualTo(1);
+            });
+    }
+
+    @Test
+    public void writtenTable() {
+        assertThat(TableWriteListener.writtenTable("update member set age=age+1 where age>=?")).isEqualTo("member");
+        assertThat(TableWriteListener.writtenTable("insert into PUBLIC.\"TEAM\" (name) values (?)")).isEqualTo("team");
+        assertThat(TableWriteListener.writtenTable("delete from member_archive where member_id=?"))
+            .isEqualTo("member_archive");
+        assertThat(TableWriteListener.writtenTable("select * from member")).isNull();
+    }
+
+    interface MutableResultRepository {
+
+        @QueryResultCache(tables = "member")
+        List<MemberDto> findMemberDto();
+    }
+
+    @Test
+    public void rejectMutableResult() {
+        QueryResultCacheInterceptor interceptor = new QueryResultCacheInterceptor(null);
+
+        assertThatThrownBy(() -> interceptor.register(MutableResultRepository.class))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("MemberDto");
+    }
+}
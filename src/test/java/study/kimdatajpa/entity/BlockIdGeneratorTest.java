@@ -0,0 +1,39 @@
+package study.kimdatajpa.entity;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+// 블록을 작게 잡아 블록 교체/미리 예약이 여러 번 일어나게 한다
+@SpringBootTest(properties = "spring.jpa.properties.id_block.size=4")
+@Transactional
+public class BlockIdGeneratorTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void allocateAcrossBlocks() {
+        //given
+        List<Long> ids = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            Team team = new Team("blockTeam" + i);
+            em.persist(team);
+            ids.add(team.getId());
+        }
+
+        //then
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+        assertThat(Metrics.globalRegistry.find("id.block.reserve").tag("name", "team").timer())
+            .isNotNull();
+    }
+}
@@ -0,0 +1,44 @@
+package study.kimdatajpa.entity;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ItemIdGeneratorTest {
+
+    @Test
+    public void monotonic() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(ItemIdGenerator.next());
+        }
+
+        assertThat(ids).allMatch(id -> id.length() == 26);
+        assertThat(ids).isSorted();
+        assertThat(Set.copyOf(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    public void uniqueAcrossThreads() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(ItemIdGenerator.next()));
+
+        assertThat(ids).hasSize(100_000);
+    }
+
+    @Test
+    public void encodesTimeFirst() {
+        //given
+        ItemIdGenerator.State state = new ItemIdGenerator.State(1L, 0, 0);
+
+        //when then
+        assertThat(ItemIdGenerator.encode(state)).isEqualTo("0000000001" + "0".repeat(16));
+        assertThat(ItemIdGenerator.encode(new ItemIdGenerator.State(2L, 0, 0)))
+            .isGreaterThan(ItemIdGenerator.encode(new ItemIdGenerator.State(1L, 0xFFFF, -1L)));
+    }
+}
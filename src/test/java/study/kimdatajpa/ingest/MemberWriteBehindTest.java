@@ -0,0 +1,110 @@
+package study.kimdatajpa.ingest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.Team;
+import study.kimdatajpa.repository.MemberRepository;
+import study.kimdatajpa.repository.TeamRepository;
+
+@SpringBootTest(properties = {
+    "member.write-behind.enabled=true",
+    "member.write-behind.flush-interval=PT1H"}) // 테스트에서는 직접 flush
+public class MemberWriteBehindTest {
+
+    @Autowired
+    MemberWriteBehind writeBehind;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Team team;
+
+    // 트랜잭션 없이 커밋하므로 다른 테스트에 남지 않게 지운다
+    @AfterEach
+    public void cleanUp() {
+        for (String username : List.of("zzzWriteBehind", "zzzWriteBehindNew", "zzzWriteBehindOk1",
+            "zzzWriteBehindOk2")) {
+            memberRepository.deleteAll(memberRepository.findByUsername(username));
+        }
+        if (team != null) {
+            teamRepository.deleteById(team.getId());
+        }
+    }
+
+    @Test
+    public void insertAndCoalesceUpdates() {
+        //given
+        team = teamRepository.save(new Team("writeBehindTeam"));
+        Member member = memberRepository.save(new Member("zzzWriteBehind", 10));
+
+        //when
+        writeBehind.insert("zzzWriteBehindNew", 20, team.getId());
+        writeBehind.updateAge(member.getId(), 11);
+        writeBehind.updateAge(member.getId(), 12); // 같은 회원 -> 마지막 값만
+        assertThat(writeBehind.depth()).isEqualTo(2);
+        writeBehind.flush();
+
+        //then
+        assertThat(writeBehind.depth()).isEqualTo(0);
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(12);
+        List<Member> inserted = memberRepository.findByUsername("zzzWriteBehindNew");
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0).getAge()).isEqualTo(20);
+    }
+
+    @Test
+    public void isolateFailingRow() {
+        //given - 없는 팀을 참조하는 행 하나 (FK 위반)
+        writeBehind.insert("zzzWriteBehindOk1", 1, null);
+        writeBehind.insert("zzzWriteBehindBad", 1, Long.MAX_VALUE);
+        writeBehind.insert("zzzWriteBehindOk2", 1, null);
+
+        //when
+        writeBehind.flush();
+
+        //then - 나머지는 바로 저장되고 실패한 행만 남는다
+        assertThat(memberRepository.findByUsername("zzzWriteBehindOk1")).hasSize(1);
+        assertThat(memberRepository.findByUsername("zzzWriteBehindOk2")).hasSize(1);
+        assertThat(writeBehind.depth()).isEqualTo(1);
+
+        //when - max-attempts(3) 번 실패하면 버린다
+        writeBehind.flush();
+        writeBehind.flush();
+
+        //then
+        assertThat(writeBehind.depth()).isEqualTo(0);
+        assertThat(memberRepository.findByUsername("zzzWriteBehindBad")).isEmpty();
+    }
+
+    @Test
+    public void rejectedUpdateIsNotQueued() {
+        //given
+        MemberWriteBehind full = new MemberWriteBehind(em, transactionManager, new SimpleMeterRegistry(),
+            1, 1000, 3, 100);
+        full.insert("zzzWriteBehindFull", 1, Long.MAX_VALUE); // flush 가 실패해서 큐가 비워지지 않는다
+
+        //when
+        assertThatThrownBy(() -> full.updateAge(1L, 10)).isInstanceOf(RejectedExecutionException.class);
+
+        //then - 거절된 변경은 큐에 남지 않는다
+        assertThat(full.depth()).isEqualTo(1);
+        full.flush();
+        full.flush();
+        assertThat(full.depth()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,65 @@
+package study.kimdatajpa.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SqlRingBufferTest {
+
+    @Test
+    public void drainInOrder() {
+        //given
+        SqlRingBuffer buffer = new SqlRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(0, i, false, false, "select " + i, null);
+        }
+
+        //when
+        List<String> drained = new ArrayList<>();
+        int count = buffer.drain(entry -> drained.add(entry.sql()));
+
+        //then
+        assertThat(count).isEqualTo(5);
+        assertThat(drained).containsExactly("select 0", "select 1", "select 2", "select 3", "select 4");
+        assertThat(buffer.drain(entry -> drained.add(entry.sql()))).isZero();
+        assertThat(buffer.dropped()).isZero();
+    }
+
+    @Test
+    public void overwrittenEntriesAreDropped() {
+        //given
+        SqlRingBuffer buffer = new SqlRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(0, i, false, false, "select " + i, null);
+        }
+
+        //when
+        List<String> drained = new ArrayList<>();
+        buffer.drain(entry -> drained.add(entry.sql()));
+
+        //then
+        assertThat(drained).containsExactly("select 6", "select 7", "select 8", "select 9");
+        assertThat(buffer.dropped()).isEqualTo(6);
+        assertThat(buffer.written()).isEqualTo(10);
+    }
+
+    @Test
+    public void recentNewestFirst() {
+        //given
+        SqlRingBuffer buffer = new SqlRingBuffer(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.add(0, i, i == 5, false, "select " + i, i == 5 ? "select 5 /* bound */" : null);
+        }
+
+        //when
+        List<SqlRingBuffer.Entry> recent = buffer.recent(3);
+
+        //then
+        assertThat(recent).extracting(SqlRingBuffer.Entry::sql)
+            .containsExactly("select 5", "select 4", "select 3");
+        assertThat(buffer.recent(100)).hasSize(4);
+        assertThat(recent.get(0).slow()).isTrue();
+    }
+}
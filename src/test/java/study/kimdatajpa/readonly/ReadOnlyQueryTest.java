@@ -0,0 +1,86 @@
+package study.kimdatajpa.readonly;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.Team;
+import study.kimdatajpa.repository.MemberRepository;
+import study.kimdatajpa.repository.TeamRepository;
+
+@SpringBootTest
+@Transactional
+public class ReadOnlyQueryTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    ReadOnlyScope readOnlyScope;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void findersStayWritableInReadWriteTransaction() {
+        //given
+        Member saved = memberRepository.save(new Member("readOnly1", 10));
+        em.flush();
+        em.clear();
+
+        //when - 쓰기 트랜잭션 안에서 조회한 엔티티는 고치면 반영된다
+        Member found = memberRepository.findByUsername("readOnly1").get(0);
+        found.setAge(99);
+        em.flush();
+        em.clear();
+
+        //then
+        Session session = em.unwrap(Session.class);
+        assertThat(session.isDefaultReadOnly()).isFalse();
+        assertThat(memberRepository.findById(saved.getId()).get().getAge()).isEqualTo(99);
+    }
+
+    @Test
+    public void readOnlyMethods() throws NoSuchMethodException {
+        ReadOnlyQueryInterceptor interceptor = new ReadOnlyQueryInterceptor(MemberRepository.class, null);
+
+        assertThat(interceptor.isReadOnly(MemberRepository.class.getMethod("findByUsername", String.class))).isTrue();
+        // MemberRepository 에서 다시 선언했지만 상속받은 CRUD 메서드
+        assertThat(interceptor.isReadOnly(MemberRepository.class.getMethod("findAll"))).isFalse();
+        assertThat(interceptor.isReadOnly(MemberRepository.class.getMethod("findById", Object.class))).isFalse();
+    }
+
+    @Test
+    public void pendingWritesVisibleInReadWriteTransaction() {
+        //given
+        memberRepository.save(new Member("readOnly2", 20)); // 아직 flush 전
+
+        //when
+        List<Member> result = memberRepository.findByUsername("readOnly2");
+
+        //then
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    public void callScope() {
+        //given
+        teamRepository.save(new Team("readOnlyTeam"));
+        em.flush();
+        em.clear();
+
+        //when
+        Team team = readOnlyScope.call(() -> teamRepository.findByName("readOnlyTeam").get(0));
+
+        //then
+        assertThat(em.unwrap(Session.class).isReadOnly(team)).isTrue(); // @ReadOnlyQueries 없는 리포지토리도 범위 안에서는
+        assertThat(em.unwrap(Session.class).isDefaultReadOnly()).isFalse();
+    }
+}
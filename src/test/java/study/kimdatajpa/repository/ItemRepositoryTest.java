@@ -1,5 +1,7 @@
 package study.kimdatajpa.repository;
 
+import static org.assertj.core.api.Assertions.*;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,4 +18,11 @@ public class ItemRepositoryTest {
         Item item = new Item("A");
         itemRepository.save(item);
     }
+
+    @Test
+    public void saveWithGeneratedId() {
+        Item item = itemRepository.save(Item.create());
+
+        assertThat(itemRepository.findById(item.getId())).isPresent();
+    }
 }
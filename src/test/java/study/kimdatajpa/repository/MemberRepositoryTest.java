@@ -4,10 +4,14 @@ import static org.assertj.core.api.Assertions.*;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -17,8 +21,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import study.kimdatajpa.dto.MemberDto;
 import study.kimdatajpa.entity.Member;
@@ -36,6 +42,20 @@ public class MemberRepositoryTest {
     @PersistenceContext
     EntityManager em; // 영속성 컨텍스트
 
+    Team batchTeam;
+
+    // 트랜잭션 없이 커밋한 행(forEachChunk)은 다른 테스트에 남지 않게 지운다
+    @AfterEach
+    public void cleanUpCommitted() {
+        if (batchTeam == null) {
+            return;
+        }
+        for (int i = 0; i < 3; i++) {
+            memberRepository.deleteAll(memberRepository.findByUsername("zzzBatch" + i));
+        }
+        teamRepository.deleteById(batchTeam.getId());
+    }
+
     @Test
     public void testMember() {
         Member member = new Member("memberA");
@@ -137,8 +157,8 @@ public class MemberRepositoryTest {
         m1.setTeam(team);
         memberRepository.save(m1);
 
-        List<MemberDto> memberDto = memberRepository.findMemberDto();
-        for (MemberDto dto : memberDto) {
+        List<MemberViewDto> memberDto = memberRepository.findMemberDto();
+        for (MemberViewDto dto : memberDto) {
             System.out.println("dto = " + dto);
         }
     }
@@ -280,6 +300,43 @@ public class MemberRepositoryTest {
         List<Member> result = memberRepository.findMemberCustom();
     }
 
+    // DTO 직접 페이징 조회
+    @Test
+    public void findMemberDtoPage() {
+        //given
+        long before = memberRepository.count();
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("dtoPage1", 10, teamA));
+        em.persist(new Member("dtoPage2", 20, teamA));
+        em.persist(new Member("dtoPage3", 30));
+
+        em.flush();
+        em.clear();
+
+        //when - 다른 테스트가 커밋한 회원도 있으므로 한 페이지에 다 읽고 이 테스트의 회원만 본다
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(
+            PageRequest.of(0, (int) before + 3, Sort.by(Direction.DESC, "username")));
+        List<MemberDto> mine = page.getContent().stream()
+            .filter(dto -> dto.getUsername().startsWith("dtoPage"))
+            .toList();
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(before + 3);
+        assertThat(mine).extracting("username").containsExactly("dtoPage3", "dtoPage2", "dtoPage1");
+        assertThat(mine).extracting("teamName").containsExactly(null, "teamA", "teamA");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount())
+            .isEqualTo(0); // 영속성 컨텍스트에 올라간 엔티티 없음
+    }
+
+    @Test
+    public void findMemberDtoPageRejectsUnknownSort() {
+        assertThatThrownBy(() -> memberRepository.findMemberDtoPage(
+            PageRequest.of(0, 2, Sort.by("createdBy"))))
+            .isInstanceOf(InvalidDataAccessApiUsageException.class) // 리포지토리 프록시가 IllegalArgumentException 을 변환
+            .hasMessageContaining("createdBy");
+    }
+
     // Specifications(명세) 사용 확인
     @Test
     public void specBasic() {
@@ -304,6 +361,45 @@ public class MemberRepositoryTest {
         Assertions.assertThat(result.size()).isEqualTo(1);
     }
 
+    // 명세 조회 + 클라이언트가 고른 FetchPlan
+    @Test
+    public void specWithFetchPlan() {
+        //given
+        Team team = new Team("fetchTeam");
+        em.persist(team);
+        em.persist(new Member("fetch1", 0, team));
+        em.persist(new Member("fetch2", 0, team));
+        em.flush();
+        em.clear();
+        Specification<Member> spec = MemberSpec.teamName("fetchTeam");
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("username"));
+
+        //when
+        Page<Member> withTeam = memberRepository.findAll(spec, FetchPlan.of("team"), pageRequest);
+        em.clear();
+        Page<Member> withoutTeam = memberRepository.findAll(spec, FetchPlan.NONE, pageRequest);
+
+        //then
+        assertThat(withTeam.getContent()).extracting("username").containsExactly("fetch1", "fetch2");
+        assertThat(withTeam.getContent()).allMatch(member -> Hibernate.isInitialized(member.getTeam()));
+        assertThat(withoutTeam.getContent()).noneMatch(member -> Hibernate.isInitialized(member.getTeam()));
+        assertThat(em.getEntityGraph("Member.fetch(team)")).isNotNull(); // shape 별로 한 번 등록해서 재사용
+
+        Page<MemberDto> dtoWithoutTeam = memberRepository.findMemberDtoPage(FetchPlan.NONE, pageRequest);
+        assertThat(dtoWithoutTeam.getContent()).extracting("teamName").containsOnlyNulls();
+
+        // teamName 정렬은 expand 없이도 된다 (team 조인만 하고 teamName 은 채우지 않음)
+        Page<MemberDto> byTeamName = memberRepository.findMemberDtoPage(FetchPlan.NONE,
+            PageRequest.of(0, 10, Sort.by("teamName", "username")));
+        assertThat(byTeamName.getContent()).extracting("teamName").containsOnlyNulls();
+        Page<Member> searchedByTeamName = memberRepository.findAll(spec, FetchPlan.NONE,
+            PageRequest.of(0, 10, Sort.by(Direction.DESC, "teamName", "username")));
+        assertThat(searchedByTeamName.getContent()).extracting("username").containsExactly("fetch2", "fetch1");
+        assertThatThrownBy(() -> memberRepository.findAll(spec, FetchPlan.NONE,
+            PageRequest.of(0, 10, Sort.by("createdBy"))))
+            .hasMessageContaining("createdBy");
+    }
+
     // Query By Example 사용 확인
     @Test
     public void queryByExample() {
@@ -395,4 +491,51 @@ public class MemberRepositoryTest {
             System.out.println("memberProjection = " + memberProjection.getTeamName());
         }
     }
-}
\ No newline at end of file
+
+    // 네이티브 쿼리 + 레코드 매핑
+    @Test
+    public void nativeRecord() {
+        //given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("zzzNative", 0, teamA));
+
+        em.flush();
+        em.clear();
+
+        //when
+        Page<MemberNativeDto> result = memberRepository.findByNativeRecord(
+            PageRequest.of(0, 1, Sort.by(Direction.DESC, "username")));
+
+        //then
+        MemberNativeDto first = result.getContent().get(0);
+        assertThat(first.username()).isEqualTo("zzzNative");
+        assertThat(first.teamName()).isEqualTo("teamA");
+        assertThat(first.id()).isNotNull();
+    }
+
+    // StatelessSession 청크 조회 (별도 커넥션이라 커밋된 데이터만 보이므로 트랜잭션 없이 저장)
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachChunk() {
+        //given
+        batchTeam = teamRepository.save(new Team("batchTeam"));
+        for (int i = 0; i < 3; i++) {
+            memberRepository.save(new Member("zzzBatch" + i, i, batchTeam));
+        }
+
+        //when
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<String> teamNames = new ArrayList<>();
+        memberRepository.forEachChunkWithTeam(2, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.stream()
+                .filter(m -> m.getUsername() != null && m.getUsername().startsWith("zzzBatch"))
+                .forEach(m -> teamNames.add(m.getTeam().getName()));
+        });
+
+        //then
+        assertThat(chunkSizes).allMatch(size -> size <= 2);
+        assertThat(teamNames).containsExactly("batchTeam", "batchTeam", "batchTeam");
+    }
+}
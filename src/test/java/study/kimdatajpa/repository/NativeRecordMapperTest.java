@@ -0,0 +1,44 @@
+package study.kimdatajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class NativeRecordMapperTest {
+
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:native_mapper;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @BeforeEach
+    public void createTable() {
+        new JdbcTemplate(dataSource).execute(
+            "create table if not exists member (member_id bigint, username varchar(255), team_name varchar(255))");
+    }
+
+    @Test
+    public void mapByAlias() {
+        NativeRecordMapper<MemberNativeDto> mapper = new NativeRecordMapper<>(MemberNativeDto.class,
+            "select team_name as teamName, member_id as id, username from member");
+        mapper.validate(dataSource);
+
+        // 컬럼 순서가 레코드 컴포넌트 순서와 달라도 별칭으로 매핑
+        List<MemberNativeDto> result = mapper.map(
+            List.of((Object) new Object[]{"teamA", 1, "member1"}));
+
+        assertThat(result).containsExactly(new MemberNativeDto(1L, "member1", "teamA"));
+    }
+
+    @Test
+    public void missingAliasFailsValidation() {
+        NativeRecordMapper<MemberNativeDto> mapper = new NativeRecordMapper<>(MemberNativeDto.class,
+            "select member_id as id, username from member");
+
+        assertThatThrownBy(() -> mapper.validate(dataSource))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("teamName");
+    }
+}
@@ -0,0 +1,250 @@
+package study.kimdatajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.Team;
+
+// 리포지토리 쿼리 실행 계획(EXPLAIN) 검증
+// 각 쿼리를 실제로 실행해서 SQL 을 모은 뒤 H2 EXPLAIN 으로 member 전체 스캔, 인덱스를 못 타는 정렬을 찾는다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "study.kimdatajpa.repository.SqlCaptureInspector")
+@Transactional
+public class QueryPlanTest {
+
+    private static final Pattern MEMBER_TABLE_SCAN =
+        Pattern.compile("\\bMEMBER\\.tableScan", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_BY =
+        Pattern.compile("\\border\\s+by\\b", Pattern.CASE_INSENSITIVE);
+
+    enum Plan {
+        INDEXED,         // member 는 인덱스로 찾고, 정렬도 인덱스 순서로
+        INDEXED_SORT_OK, // member 는 인덱스로 찾고, 걸러진 결과만 정렬
+        SCAN             // 조건이 없어 전체 스캔은 불가피, 정렬은 인덱스 순서로
+    }
+
+    record Case(Plan plan, Runnable query) {
+    }
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    Long memberId;
+
+    @BeforeEach
+    public void seed() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Team team = new Team("planTeam" + i);
+            em.persist(team);
+            teams.add(team);
+        }
+        for (int i = 0; i < 100; i++) {
+            Member member = new Member("planUser" + i, i, teams.get(i % teams.size()));
+            em.persist(member);
+            memberId = member.getId();
+        }
+        em.flush();
+        em.clear();
+    }
+
+    private Map<String, Case> memberRepositoryCases() {
+        PageRequest byUsernameDesc = PageRequest.of(0, 10, Sort.by(Direction.DESC, "username"));
+
+        Map<String, Case> cases = new LinkedHashMap<>();
+        cases.put("findByUsernameAndAgeGreaterThan(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.findByUsernameAndAgeGreaterThan("planUser1", 0)));
+        cases.put("findByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findByUsername("planUser1")));
+        cases.put("findUser(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.findUser("planUser1", 1)));
+        cases.put("findUsernameList(0)", new Case(Plan.SCAN,
+            () -> memberRepository.findUsernameList()));
+        cases.put("findMemberDto(0)", new Case(Plan.SCAN,
+            () -> memberRepository.findMemberDto()));
+        cases.put("findByNames(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findByNames(List.of("planUser1", "planUser2"))));
+        cases.put("findListByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findListByUsername("planUser1")));
+        cases.put("findMemberByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findMemberByUsername("planUser1")));
+        cases.put("findOptionalByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findOptionalByUsername("planUser1")));
+        cases.put("findByAge(2)", new Case(Plan.SCAN,
+            () -> memberRepository.findByAge(10, byUsernameDesc)));
+        cases.put("bulkAgePlus(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.bulkAgePlus(90)));
+        cases.put("findMemberFetchJoin(0)", new Case(Plan.SCAN,
+            () -> memberRepository.findMemberFetchJoin()));
+        cases.put("findAll(0)", new Case(Plan.SCAN,
+            () -> memberRepository.findAll()));
+        cases.put("findMemberEntityGraph(0)", new Case(Plan.SCAN,
+            () -> memberRepository.findMemberEntityGraph()));
+        cases.put("findEntityGraphByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findEntityGraphByUsername("planUser1")));
+        cases.put("findReadOnlyByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findReadOnlyByUsername("planUser1")));
+        cases.put("findByUsername(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.findByUsername("planUser1", PageRequest.of(0, 10))));
+        cases.put("findLockByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findLockByUsername("planUser1")));
+        cases.put("findProjectionsByUsername(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.findProjectionsByUsername("planUser1",
+                NestedClosedProjection.class)));
+        cases.put("findByNativeQuery(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findByNativeQuery("planUser1")));
+        cases.put("findByNativeProjection(1)", new Case(Plan.SCAN,
+            () -> memberRepository.findByNativeProjection(PageRequest.of(0, 10))));
+        // 사용자 정의 리포지토리
+        cases.put("findMemberCustom(0)", new Case(Plan.SCAN,
+            () -> memberRepository.findMemberCustom()));
+        cases.put("findMemberDtoPage(1)", new Case(Plan.SCAN,
+            () -> memberRepository.findMemberDtoPage(byUsernameDesc)));
+        cases.put("findMemberDtoPage(2)", new Case(Plan.SCAN,
+            () -> memberRepository.findMemberDtoPage(FetchPlan.NONE, byUsernameDesc)));
+        cases.put("findAll(3)", new Case(Plan.INDEXED,
+            () -> memberRepository.findAll(MemberSpec.username("planUser1"), FetchPlan.of("team"),
+                PageRequest.of(0, 10))));
+        cases.put("findByNativeRecord(1)", new Case(Plan.SCAN,
+            () -> memberRepository.findByNativeRecord(byUsernameDesc)));
+        cases.put("findRecordById(1)", new Case(Plan.INDEXED,
+            () -> memberRepository.findRecordById(memberId)));
+        cases.put("findRecordsByUsername(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.findRecordsByUsername("planUser1", true)));
+        cases.put("findChanges(4)", new Case(Plan.INDEXED,
+            () -> memberRepository.findChanges(LocalDateTime.now().minusDays(1), 0L, LocalDateTime.now(), 10)));
+        cases.put("forEachChunk(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.forEachChunk(10, chunk -> {
+            })));
+        cases.put("forEachChunkWithTeam(2)", new Case(Plan.INDEXED,
+            () -> memberRepository.forEachChunkWithTeam(10, chunk -> {
+            })));
+        return cases;
+    }
+
+    private Map<String, Case> memberJpaRepositoryCases() {
+        Map<String, Case> cases = new LinkedHashMap<>();
+        cases.put("save(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.save(new Member("planSaved", 1))));
+        cases.put("find(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.find(memberId)));
+        cases.put("delete(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.delete(memberJpaRepository.find(memberId))));
+        cases.put("findAll(0)", new Case(Plan.SCAN,
+            () -> memberJpaRepository.findAll()));
+        cases.put("findById(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.findById(memberId)));
+        cases.put("count(0)", new Case(Plan.SCAN,
+            () -> memberJpaRepository.count()));
+        cases.put("findByUsernameAndAgeGreaterThan(2)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.findByUsernameAndAgeGreaterThan("planUser1", 0)));
+        cases.put("findByUsername(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.findByUsername("planUser1")));
+        cases.put("findByPage(3)", new Case(Plan.INDEXED_SORT_OK,
+            () -> memberJpaRepository.findByPage(10, 0, 3)));
+        cases.put("totalCount(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.totalCount(10)));
+        cases.put("bulkAgePlus(1)", new Case(Plan.INDEXED,
+            () -> memberJpaRepository.bulkAgePlus(90)));
+        return cases;
+    }
+
+    // 새 쿼리 메서드를 추가하면 여기에도 케이스를 추가해야 한다
+    @Test
+    public void everyQueryMethodHasPlanCase() {
+        Set<String> memberRepositoryMethods = Arrays.stream(MemberRepository.class.getMethods())
+            .filter(m -> m.getDeclaringClass().getPackage() == MemberRepository.class.getPackage())
+            .filter(m -> !m.isDefault() && !Modifier.isStatic(m.getModifiers()))
+            .map(QueryPlanTest::signature)
+            .collect(Collectors.toSet());
+        Set<String> memberJpaRepositoryMethods = Arrays.stream(
+                MemberJpaRepository.class.getDeclaredMethods())
+            .filter(m -> Modifier.isPublic(m.getModifiers()) && !m.isSynthetic())
+            .map(QueryPlanTest::signature)
+            .collect(Collectors.toSet());
+
+        assertThat(memberRepositoryCases().keySet()).containsAll(memberRepositoryMethods);
+        assertThat(memberJpaRepositoryCases().keySet()).containsAll(memberJpaRepositoryMethods);
+    }
+
+    @Test
+    public void memberRepositoryQueryPlans() {
+        assertThat(verify("MemberRepository", memberRepositoryCases())).isEmpty();
+    }
+
+    @Test
+    public void memberJpaRepositoryQueryPlans() {
+        assertThat(verify("MemberJpaRepository", memberJpaRepositoryCases())).isEmpty();
+    }
+
+    private List<String> verify(String repository, Map<String, Case> cases) {
+        List<String> violations = new ArrayList<>();
+        cases.forEach((method, c) -> {
+            SqlCaptureInspector.clear();
+            c.query().run();
+            em.flush();
+            em.clear();
+
+            for (String sql : SqlCaptureInspector.captured()) {
+                String plan = explain(sql);
+                System.out.println(repository + "." + method + " plan = " + plan);
+                if (c.plan() != Plan.SCAN && MEMBER_TABLE_SCAN.matcher(plan).find()) {
+                    violations.add(repository + "." + method + " full table scan: " + plan);
+                }
+                if (c.plan() != Plan.INDEXED_SORT_OK && ORDER_BY.matcher(sql).find()
+                    && !plan.contains("index sorted")) {
+                    violations.add(repository + "." + method + " filesort: " + plan);
+                }
+            }
+        });
+        return violations;
+    }
+
+    // 파라미터는 모두 '1' 로 바인딩 (H2 가 컬럼 타입으로 변환)
+    private String explain(String sql) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("explain " + sql)) {
+                int parameterCount = ps.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    ps.setString(i, "1");
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + "(" + method.getParameterCount() + ")";
+    }
+}
@@ -0,0 +1,26 @@
+package study.kimdatajpa.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// 하이버네이트가 실행하는 SQL 을 모아두는 StatementInspector (실행 계획 검증용)
+public class SqlCaptureInspector implements StatementInspector {
+
+    private static final List<String> captured = new CopyOnWriteArrayList<>();
+
+    public static void clear() {
+        captured.clear();
+    }
+
+    public static List<String> captured() {
+        return new ArrayList<>(captured);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        captured.add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,73 @@
+package study.kimdatajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.Team;
+
+@SpringBootTest
+@Transactional
+public class TeamRepositoryTest {
+
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void reassignMembers() {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        Member member1 = memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        memberRepository.save(new Member("member3", 30, teamB));
+        assertThat(teamA.getMembers()).hasSize(2); // 메모리의 컬렉션
+
+        //when
+        int moved = teamRepository.reassignMembers(teamA.getId(), teamB.getId());
+
+        //then
+        assertThat(moved).isEqualTo(2);
+        assertThat(em.contains(teamA)).isTrue(); // 들고 있던 엔티티는 분리하지 않고 다시 읽는다
+        assertThat(teamA.getMembers()).isEmpty();
+        assertThat(member1.getTeam().getId()).isEqualTo(teamB.getId());
+        assertThat(teamB.getMembers()).hasSize(3);
+        Team findTeamA = teamRepository.findById(teamA.getId()).get();
+        Team findTeamB = teamRepository.findById(teamB.getId()).get();
+        assertThat(findTeamA.getMembers()).isEmpty();
+        assertThat(findTeamB.getMembers()).extracting("username")
+            .containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(memberRepository.findById(member1.getId()).get().getLastModifiedDate())
+            .isAfterOrEqualTo(member1.getLastModifiedDate());
+    }
+
+    @Test
+    public void deleteTeams() {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        Member member1 = memberRepository.save(new Member("member1", 10, teamA));
+        Member member2 = memberRepository.save(new Member("member2", 20, teamB));
+
+        //when
+        int deleted = teamRepository.deleteTeams(List.of(teamA.getId()));
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(teamRepository.findById(teamA.getId())).isEmpty();
+        assertThat(memberRepository.findById(member1.getId()).get().getTeam()).isNull();
+        assertThat(memberRepository.findById(member2.getId()).get().getTeam().getName()).isEqualTo("teamB");
+        assertThat(teamRepository.detachMembers(teamB.getId())).isEqualTo(1);
+        assertThat(memberRepository.findById(member2.getId()).get().getTeam()).isNull();
+    }
+}
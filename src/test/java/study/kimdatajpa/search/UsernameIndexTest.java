@@ -0,0 +1,62 @@
+package study.kimdatajpa.search;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import study.kimdatajpa.entity.MemberChangedEvent;
+import study.kimdatajpa.entity.MemberChangedEvent.Type;
+
+class UsernameIndexTest {
+
+    @Test
+    public void prefixSearch() {
+        //given
+        UsernameIndex index = new UsernameIndex(null, null, 100);
+        index.put(1L, "member1");
+        index.put(2L, "Member2");
+        index.put(3L, "other");
+        index.markLoaded();
+
+        //when
+        UsernameIndex.Result result = index.search("mem", 10);
+
+        //then
+        assertThat(result.hits()).extracting("username").containsExactly("member1", "Member2");
+        assertThat(result.complete()).isTrue();
+        assertThat(index.search("mem", 1).hits()).hasSize(1);
+    }
+
+    @Test
+    public void changeEvents() {
+        //given
+        UsernameIndex index = new UsernameIndex(null, null, 100);
+        index.put(1L, "member1");
+        index.markLoaded();
+
+        //when
+        index.onMemberChanged(new MemberChangedEvent(Type.UPDATED, 1L, "renamed", 10, null));
+        index.onMemberChanged(new MemberChangedEvent(Type.CREATED, 2L, "member2", 10, null));
+        index.onMemberChanged(new MemberChangedEvent(Type.DELETED, 2L, "member2", 10, null));
+
+        //then
+        assertThat(index.search("member", 10).hits()).isEmpty();
+        assertThat(index.search("re", 10).hits()).extracting("id").containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void boundedEntries() {
+        //given
+        UsernameIndex index = new UsernameIndex(null, null, 2);
+        index.markLoaded();
+
+        //when
+        index.put(1L, "a1");
+        index.put(2L, "a2");
+        index.put(3L, "a3");
+
+        //then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("a", 10).complete()).isFalse();
+    }
+}
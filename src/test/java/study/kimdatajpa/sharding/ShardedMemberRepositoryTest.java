@@ -0,0 +1,97 @@
+package study.kimdatajpa.sharding;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import study.kimdatajpa.entity.Team;
+import study.kimdatajpa.repository.TeamRepository;
+
+// 로컬 H2 메모리 DB 3개를 샤드로 사용
+@SpringBootTest(properties = {
+    "sharding.enabled=true",
+    "sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+    "sharding.shards[0].username=sa",
+    "sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+    "sharding.shards[1].username=sa",
+    "sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+    "sharding.shards[2].username=sa"})
+public class ShardedMemberRepositoryTest {
+
+    @Autowired
+    ShardedMemberRepository shardedMemberRepository;
+    @Autowired
+    ShardDataSources shards;
+    @Autowired
+    ShardRouter router;
+    @Autowired
+    TeamRepository teamRepository;
+
+    List<Team> teams = new ArrayList<>();
+    List<ShardedMember> members = new ArrayList<>();
+
+    @BeforeEach
+    public void seed() {
+        for (int i = 0; i < shards.size(); i++) {
+            shards.jdbc(i).update("delete from member");
+        }
+        for (int i = 0; i < 3; i++) {
+            teams.add(teamRepository.save(new Team("shardTeam" + i)));
+        }
+        for (int i = 0; i < 20; i++) {
+            Long teamId = i % 5 == 0 ? null : teams.get(i % 3).getId();
+            members.add(shardedMemberRepository.save("shardUser" + (i % 7), i, teamId));
+        }
+    }
+
+    @Test
+    public void placedByTeam() {
+        for (ShardedMember member : members) {
+            Long count = shards.jdbc(router.shardFor(member.teamId())).queryForObject(
+                "select count(*) from member where member_id = ?", Long.class, member.id());
+            assertThat(count).isEqualTo(1);
+        }
+        assertThat(shardedMemberRepository.count()).isEqualTo(20);
+    }
+
+    @Test
+    public void scatterGatherPaging() {
+        //given
+        List<ShardedMember> expected = new ArrayList<>(members);
+        expected.sort(Comparator.comparing(ShardedMember::username).reversed()
+            .thenComparing(ShardedMember::id));
+
+        //when
+        Page<ShardedMember> page = shardedMemberRepository.findAll(
+            PageRequest.of(1, 5, Sort.by(Direction.DESC, "username")));
+
+        //then
+        assertThat(page.getContent()).containsExactlyElementsOf(expected.subList(5, 10));
+        assertThat(page.getTotalElements()).isEqualTo(20);
+    }
+
+    @Test
+    public void singleShardQueries() {
+        //given
+        Team team = teams.get(1);
+
+        //when
+        List<ShardedMember> byTeam = shardedMemberRepository.findByTeamName("shardTeam1");
+        List<ShardedMember> byUsername = shardedMemberRepository.findByUsername("shardUser1", team.getId());
+
+        //then
+        assertThat(byTeam).isNotEmpty().allMatch(m -> m.teamId().equals(team.getId()));
+        assertThat(byTeam).hasSize((int) shardedMemberRepository.countByTeam(team.getId()));
+        assertThat(byUsername).allMatch(m -> router.shardFor(m.teamId()) == router.shardFor(team.getId()));
+        assertThat(shardedMemberRepository.findMemberDto()).hasSize(16); // 팀 없는 4명 제외
+    }
+}
@@ -0,0 +1,93 @@
+package study.kimdatajpa.sync;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.repository.MemberChange;
+import study.kimdatajpa.repository.MemberRepository;
+
+@SpringBootTest(properties = "member.sync.safety-lag=0s")
+@Transactional
+public class MemberChangeFeedTest {
+
+    @Autowired
+    MemberChangeFeed feed;
+    @Autowired
+    MemberRepository memberRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void pagesThroughChangesAndDeletes() {
+        //given
+        String token = drain(null, new ArrayList<>()); // 기존 데이터는 건너뛴다
+        Member member1 = new Member("sync1", 10);
+        Member member2 = new Member("sync2", 20);
+        Member member3 = new Member("sync3", 30);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.flush();
+
+        //when
+        MemberChangeFeed.ChangeBatch first = feed.changesSince(token, 2);
+        List<MemberChange> rest = new ArrayList<>();
+        token = drain(first.token(), rest);
+
+        //then
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.changes()).extracting("username").containsExactly("sync1", "sync2");
+        assertThat(rest).extracting("username").containsExactly("sync3");
+
+        //when - 벌크 수정(수정 시각 갱신)과 삭제
+        memberRepository.bulkAgePlus(30);
+        memberRepository.delete(memberRepository.findById(member1.getId()).get());
+        em.flush();
+        List<MemberChange> changes = new ArrayList<>();
+        drain(token, changes);
+
+        //then
+        assertThat(changes).filteredOn(MemberChange::deleted).extracting("id").containsExactly(member1.getId());
+        assertThat(changes).filteredOn(change -> !change.deleted())
+            .extracting("username", "age").contains(tuple("sync3", 31));
+    }
+
+    @Test
+    public void idleTokenAdvances() throws InterruptedException {
+        //given
+        String token = drain(null, new ArrayList<>());
+        Thread.sleep(10);
+
+        //when - 그 사이 변경이 없어도
+        MemberChangeFeed.ChangeBatch batch = feed.changesSince(token, 100);
+
+        //then - 토큰은 앞으로 간다 (오래 쉬어도 410 이 반복되지 않음)
+        assertThat(batch.changes()).isEmpty();
+        assertThat(batch.token()).isNotEqualTo(token);
+    }
+
+    @Test
+    public void invalidToken() {
+        assertThatThrownBy(() -> feed.changesSince("not-a-token", 10))
+            .hasMessageContaining("BAD_REQUEST");
+    }
+
+    // 남은 변경을 모두 읽고 마지막 토큰을 돌려준다
+    private String drain(String token, List<MemberChange> into) {
+        MemberChangeFeed.ChangeBatch batch;
+        do {
+            batch = feed.changesSince(token, 100);
+            into.addAll(batch.changes());
+            token = batch.token();
+        } while (batch.hasMore());
+        return token;
+    }
+}
@@ -0,0 +1,90 @@
+package study.kimdatajpa.view;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimdatajpa.entity.Member;
+import study.kimdatajpa.entity.MemberView;
+import study.kimdatajpa.entity.Team;
+import study.kimdatajpa.repository.MemberRepository;
+
+@SpringBootTest
+@Transactional
+public class MemberViewTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberViewRebuilder rebuilder;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void maintainedOnWrite() {
+        //given
+        Team team = new Team("teamA");
+        em.persist(team);
+        Member member = new Member("member1", 10, team);
+        em.persist(member);
+
+        //when
+        em.flush(); // insert 와 같은 트랜잭션에서 member_view 갱신
+        MemberView created = em.find(MemberView.class, member.getId());
+
+        //then
+        assertThat(created.getTeamName()).isEqualTo("teamA");
+
+        //when - 팀 이름 변경, 벌크 수정, 삭제
+        team.setName("renamed");
+        em.flush();
+        memberRepository.bulkAgePlus(10);
+        em.clear();
+
+        //then
+        MemberView updated = em.find(MemberView.class, member.getId());
+        assertThat(updated.getTeamName()).isEqualTo("renamed");
+        assertThat(updated.getAge()).isEqualTo(11);
+        assertThat(memberRepository.findMemberDto()).extracting("teamName").contains("renamed");
+
+        //when
+        em.clear();
+        memberRepository.delete(memberRepository.findById(member.getId()).get());
+        em.flush();
+
+        //then
+        assertThat(em.find(MemberView.class, member.getId())).isNull();
+    }
+
+    @Test
+    public void rebuild() {
+        //given
+        Team team = new Team("teamA");
+        em.persist(team);
+        Member member1 = new Member("member1", 10, team);
+        Member member2 = new Member("member2", 20);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+        em.clear();
+        jdbcTemplate.update("delete from member_view where member_id = ?", member1.getId()); // 빠진 행
+        jdbcTemplate.update("update member_view set age = 99 where member_id = ?", member2.getId()); // 어긋난 행
+        jdbcTemplate.update("insert into member_view (member_id, username, age) values (?, 'ghost', 1)",
+            Long.MAX_VALUE); // member 에 없는 행
+
+        //when
+        rebuilder.rebuild();
+
+        //then
+        assertThat(em.find(MemberView.class, member1.getId()).getTeamName()).isEqualTo("teamA");
+        assertThat(em.find(MemberView.class, member2.getId()).getAge()).isEqualTo(20);
+        assertThat(em.find(MemberView.class, Long.MAX_VALUE)).isNull();
+    }
+}